@@ -0,0 +1,31 @@
+// JMH benchmarks for the library's hot paths.
+// Run with: ./gradlew :lib:benchmarks:jmh
+// Filter with: ./gradlew :lib:benchmarks:jmh -PjmhIncludes=JavaIOBenchmark
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    jmh(project(":lib"))
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // Allocation per op (gc.alloc.rate.norm) is reported alongside the timings.
+    profilers.add("gc")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    (findProperty("jmhIncludes") as String?)?.let { includes.add(it) }
+}
@@ -0,0 +1,61 @@
+package com.brentzey.functional.benchmarks;
+
+import com.brentzey.functional.IOStream;
+import com.brentzey.functional.JavaIO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Chunked IOStream pipelines against running one JavaIO per element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IOStreamBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    private List<Integer> records;
+
+    @Setup
+    public void setUp() {
+        records = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Long streamMapFilterFold() {
+        return IOStream.fromIterable(records)
+            .filter(x -> (x & 1) == 0)
+            .map(x -> (long) x * 3)
+            .fold(0L, Long::sum)
+            .unsafeRunSync();
+    }
+
+    @Benchmark
+    public Long streamEvalMap() {
+        return IOStream.fromIterable(records)
+            .evalMap(x -> JavaIO.pure((long) x))
+            .fold(0L, Long::sum)
+            .unsafeRunSync();
+    }
+
+    @Benchmark
+    public Long effectPerElement() {
+        JavaIO<Long> sum = JavaIO.pure(0L);
+        for (Integer x : records) {
+            sum = sum.flatMap(acc -> JavaIO.of(() -> (x & 1) == 0 ? acc + (long) x * 3 : acc));
+        }
+        return sum.unsafeRunSync();
+    }
+}
@@ -0,0 +1,154 @@
+package com.brentzey.functional.benchmarks;
+
+import com.brentzey.functional.JavaIO;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of building and running JavaIO chains, of attempt() on both paths, and of named() recording.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JavaIOBenchmark {
+
+    private JavaIO<Integer> succeeding;
+    private JavaIO<Integer> failing;
+    private JavaIO<Integer> raised;
+    private JavaIO<Integer> recovered;
+    private JavaIO<Integer> memoized;
+    private JavaIO<Integer> named;
+
+    @Setup
+    public void setUp() {
+        succeeding = JavaIO.of(() -> 42);
+        failing = JavaIO.of(() -> {
+            throw new IllegalStateException("expected failure");
+        });
+        JavaIO<Integer> validation = JavaIO.raiseError(new StacklessFailure());
+        raised = validation.map(x -> x + 1).handleErrorWith(JavaIO::raiseError);
+        recovered = validation.map(x -> x + 1).recover(e -> -1);
+        memoized = JavaIO.of(() -> 42).memoize();
+        named = succeeding.named("benchmark.named");
+    }
+
+    /**
+     * Prebuilt map and flatMap chains {@code depth} steps long.
+     */
+    @State(Scope.Thread)
+    public static class Chains {
+
+        @Param({"10", "1000", "10000"})
+        int depth;
+
+        JavaIO<Integer> mapChain;
+        JavaIO<Integer> flatMapChain;
+
+        @Setup
+        public void setUp() {
+            mapChain = buildMapChain(depth);
+            flatMapChain = buildFlatMapChain(depth);
+        }
+    }
+
+    private static JavaIO<Integer> buildMapChain(int depth) {
+        JavaIO<Integer> io = JavaIO.pure(0);
+        for (int i = 0; i < depth; i++) {
+            io = io.map(x -> x + 1);
+        }
+        return io;
+    }
+
+    private static JavaIO<Integer> buildFlatMapChain(int depth) {
+        JavaIO<Integer> io = JavaIO.pure(0);
+        for (int i = 0; i < depth; i++) {
+            io = io.flatMap(x -> JavaIO.pure(x + 1));
+        }
+        return io;
+    }
+
+    @Benchmark
+    public Integer runMapChain(Chains chains) {
+        return chains.mapChain.unsafeRunSync();
+    }
+
+    @Benchmark
+    public Integer runFlatMapChain(Chains chains) {
+        return chains.flatMapChain.unsafeRunSync();
+    }
+
+    @Benchmark
+    public Integer buildAndRunMapChain(Chains chains) {
+        return buildMapChain(chains.depth).unsafeRunSync();
+    }
+
+    @Benchmark
+    public Integer buildAndRunFlatMapChain(Chains chains) {
+        return buildFlatMapChain(chains.depth).unsafeRunSync();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public JavaIO.Result<Integer> attemptSuccess() {
+        return succeeding.attempt();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public JavaIO.Result<Integer> attemptFailure() {
+        return failing.attempt();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public JavaIO.Result<Integer> attemptRaised() {
+        return raised.attempt();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer runRecovered() {
+        return recovered.unsafeRunSync();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer memoizedHit() {
+        return memoized.unsafeRunSync();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer runPlain() {
+        return succeeding.unsafeRunSync();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer runNamed() {
+        return named.unsafeRunSync();
+    }
+
+    @Benchmark
+    public Integer startAndJoinMapChain(Chains chains) {
+        return chains.mapChain.start().join().unsafeRunSync();
+    }
+
+    /**
+     * A preallocated domain error, as validation code would raise it.
+     */
+    private static final class StacklessFailure extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        StacklessFailure() {
+            super("expected failure", null, false, false);
+        }
+    }
+}
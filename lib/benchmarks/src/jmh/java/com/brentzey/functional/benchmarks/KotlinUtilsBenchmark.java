@@ -0,0 +1,96 @@
+package com.brentzey.functional.benchmarks;
+
+import com.brentzey.functional.FunctionalUtils;
+import com.brentzey.functional.IO;
+import com.brentzey.functional.LibraryKt;
+import com.brentzey.functional.OptionUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kotlin.jvm.functions.Function1;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of the Kotlin-side utilities as seen from the JVM: OptionUtils.sequence,
+ * compose/pipe, FunctionalUtils.apply and IO chains. Only the benchmarks that take
+ * {@link Sized} run once per size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KotlinUtilsBenchmark {
+
+    private static final Function1<Integer, Integer> ADD_ONE = x -> x + 1;
+    private static final Function1<Integer, Integer> DOUBLE = x -> x * 2;
+
+    private int input = 42;
+    private Function1<Integer, Integer> composed;
+
+    @Setup
+    public void setUp() {
+        composed = LibraryKt.compose(DOUBLE, ADD_ONE);
+    }
+
+    /**
+     * A list of {@code size} values and an IO chain of up to 10,000 maps.
+     */
+    @State(Scope.Thread)
+    public static class Sized {
+
+        @Param({"10", "1000", "1000000"})
+        int size;
+
+        List<Integer> values;
+        IO<Integer> ioMapChain;
+
+        @Setup
+        public void setUp() {
+            values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(i);
+            }
+            IO<Integer> io = IO.Companion.pure(0);
+            for (int i = 0; i < Math.min(size, 10_000); i++) {
+                io = io.map(ADD_ONE);
+            }
+            ioMapChain = io;
+        }
+    }
+
+    @Benchmark
+    public List<Integer> optionUtilsSequence(Sized sized) {
+        return OptionUtils.INSTANCE.sequence(sized.values);
+    }
+
+    @Benchmark
+    public Integer composeApply() {
+        return composed.invoke(input);
+    }
+
+    @Benchmark
+    public Function1<Integer, Integer> composeBuild() {
+        return LibraryKt.compose(DOUBLE, ADD_ONE);
+    }
+
+    @Benchmark
+    public Integer pipe() {
+        return LibraryKt.pipe(LibraryKt.pipe(input, ADD_ONE), DOUBLE);
+    }
+
+    @Benchmark
+    public Integer functionalUtilsApply() {
+        return FunctionalUtils.apply(input, ADD_ONE);
+    }
+
+    @Benchmark
+    public Integer ioMapChain(Sized sized) {
+        return sized.ioMapChain.unsafeRunSync();
+    }
+}
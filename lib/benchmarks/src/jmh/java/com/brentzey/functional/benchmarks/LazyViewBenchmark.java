@@ -0,0 +1,76 @@
+package com.brentzey.functional.benchmarks;
+
+import com.brentzey.functional.LazyList;
+import com.brentzey.functional.LazyView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A map/filter/map/take pipeline materializing a list per step, against a fused LazyView
+ * pass and a memoizing LazyList.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LazyViewBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    private List<Integer> records;
+
+    @Setup
+    public void setUp() {
+        records = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Long> intermediateLists() {
+        List<Long> scaled = new ArrayList<>();
+        for (Integer x : records) {
+            scaled.add((long) x * 3);
+        }
+        List<Long> even = new ArrayList<>();
+        for (Long x : scaled) {
+            if ((x & 1) == 0) {
+                even.add(x);
+            }
+        }
+        List<Long> shifted = new ArrayList<>();
+        for (Long x : even) {
+            shifted.add(x + 1);
+        }
+        return shifted.subList(0, Math.min(shifted.size(), size / 2));
+    }
+
+    @Benchmark
+    public List<Long> fusedView() {
+        return LazyView.of(records)
+            .map(x -> (long) x * 3)
+            .filter(x -> (x & 1) == 0)
+            .map(x -> x + 1)
+            .take(size / 2)
+            .toList();
+    }
+
+    @Benchmark
+    public List<Long> memoizedLazyList() {
+        return LazyList.from(records)
+            .map(x -> (long) x * 3)
+            .filter(x -> (x & 1) == 0)
+            .map(x -> x + 1)
+            .take(size / 2)
+            .toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.brentzey.functional.benchmarks;
+
+import com.brentzey.functional.OptionalUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of sequence() over growing collections, plus zip() and fold() per call, each
+ * next to its OptionalInt overload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OptionalUtilsBenchmark {
+
+    private Optional<Integer> present;
+    private Optional<Integer> empty;
+    private OptionalInt presentInt;
+
+    @Setup
+    public void setUp() {
+        present = Optional.of(42);
+        empty = Optional.empty();
+        presentInt = OptionalInt.of(42);
+    }
+
+    /**
+     * Lists of {@code size} optionals, for the sequence benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class Sized {
+
+        @Param({"10", "1000", "1000000"})
+        int size;
+
+        List<Optional<Integer>> allPresent;
+        List<Optional<Integer>> emptyInMiddle;
+        List<OptionalInt> allPresentInt;
+
+        @Setup
+        public void setUp() {
+            allPresent = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                allPresent.add(Optional.of(i));
+            }
+            emptyInMiddle = new ArrayList<>(allPresent);
+            emptyInMiddle.set(size / 2, Optional.empty());
+            allPresentInt = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                allPresentInt.add(OptionalInt.of(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<List<Integer>> sequenceAllPresent(Sized sized) {
+        return OptionalUtils.sequence(sized.allPresent);
+    }
+
+    @Benchmark
+    public Optional<int[]> sequenceIntAllPresent(Sized sized) {
+        return OptionalUtils.sequenceInt(sized.allPresentInt);
+    }
+
+    @Benchmark
+    public Optional<List<Integer>> sequenceEmptyInMiddle(Sized sized) {
+        return OptionalUtils.sequence(sized.emptyInMiddle);
+    }
+
+    @Benchmark
+    public Optional<Integer> zipPresent() {
+        return OptionalUtils.zip(present, present, Integer::sum);
+    }
+
+    @Benchmark
+    public OptionalInt zipIntPresent() {
+        return OptionalUtils.zip(presentInt, presentInt, Integer::sum);
+    }
+
+    @Benchmark
+    public Optional<Integer> zipEmpty() {
+        return OptionalUtils.zip(present, empty, Integer::sum);
+    }
+
+    @Benchmark
+    public Integer foldPresent() {
+        return OptionalUtils.fold(present, () -> 0, x -> x + 1);
+    }
+
+    @Benchmark
+    public int foldIntPresent() {
+        return OptionalUtils.fold(presentInt, () -> 0, x -> x + 1);
+    }
+
+    @Benchmark
+    public Integer foldEmpty() {
+        return OptionalUtils.fold(empty, () -> 0, x -> x + 1);
+    }
+}
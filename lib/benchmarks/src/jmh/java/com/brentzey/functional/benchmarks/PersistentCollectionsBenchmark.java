@@ -0,0 +1,113 @@
+package com.brentzey.functional.benchmarks;
+
+import com.brentzey.functional.PersistentMap;
+import com.brentzey.functional.PersistentVector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Updating an immutable snapshot: copying a HashMap or ArrayList against the structurally
+ * shared persistent map and vector, plus bulk construction through transients.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PersistentCollectionsBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private String[] keys;
+    private Map<String, Integer> hashMap;
+    private PersistentMap<String, Integer> persistentMap;
+    private List<Integer> arrayList;
+    private PersistentVector<Integer> persistentVector;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        keys = new String[size];
+        hashMap = new HashMap<>();
+        arrayList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = "key" + i;
+            hashMap.put(keys[i], i);
+            arrayList.add(i);
+        }
+        persistentMap = PersistentMap.from(hashMap);
+        persistentVector = PersistentVector.from(arrayList);
+    }
+
+    private int nextIndex() {
+        next = next + 1 == size ? 0 : next + 1;
+        return next;
+    }
+
+    private String nextKey() {
+        return keys[nextIndex()];
+    }
+
+    @Benchmark
+    public Map<String, Integer> hashMapCopyOnWrite() {
+        Map<String, Integer> copy = new HashMap<>(hashMap);
+        copy.put(nextKey(), -1);
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentMap<String, Integer> persistentMapPlus() {
+        return persistentMap.plus(nextKey(), -1);
+    }
+
+    @Benchmark
+    public Integer persistentMapGet() {
+        return persistentMap.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer hashMapGet() {
+        return hashMap.get(nextKey());
+    }
+
+    @Benchmark
+    public List<Integer> arrayListCopyOnWrite() {
+        List<Integer> copy = new ArrayList<>(arrayList);
+        copy.set(nextIndex(), -1);
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> persistentVectorWith() {
+        return persistentVector.with(nextIndex(), -1);
+    }
+
+    @Benchmark
+    public PersistentMap<String, Integer> buildMapWithTransient() {
+        return PersistentMap.from(hashMap);
+    }
+
+    @Benchmark
+    public PersistentMap<String, Integer> buildMapWithPlus() {
+        PersistentMap<String, Integer> map = PersistentMap.empty();
+        for (Map.Entry<String, Integer> entry : hashMap.entrySet()) {
+            map = map.plus(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> buildVectorWithTransient() {
+        return PersistentVector.from(arrayList);
+    }
+}
@@ -47,7 +47,7 @@ repositories {
 
 kotlin {
     jvmToolchain(17)
-    
+
     jvm {
         compilations.all {
             kotlinOptions {
@@ -78,11 +78,13 @@ kotlin {
     sourceSets {
         val commonMain by getting {
             dependencies {
+                api("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.9.0")
             }
         }
         val commonTest by getting {
             dependencies {
                 implementation(kotlin("test"))
+                implementation("org.jetbrains.kotlinx:kotlinx-coroutines-test:1.9.0")
             }
         }
         val jvmMain by getting {
@@ -0,0 +1,57 @@
+package com.brentzey.functional
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
+import kotlin.time.Duration.Companion.seconds
+import kotlin.time.TimeSource
+
+/**
+ * Error reporter that never blocks the failing thread, the coroutine counterpart of the
+ * JVM's `AsyncErrorReporter`: [report] only offers the error to a channel of [capacity]
+ * slots, dropping it if the channel is full, and one coroutine on [dispatcher] hands at most
+ * [maxPerSecond] errors a second to [sink], dropping the rest.
+ *
+ * Errors thrown by [sink] are ignored.
+ */
+internal class ChannelErrorReporter(
+    capacity: Int,
+    private val maxPerSecond: Int,
+    dispatcher: CoroutineDispatcher = Dispatchers.Default,
+    private val timeSource: TimeSource = TimeSource.Monotonic,
+    private val sink: (Exception) -> Unit,
+) {
+    private val errors = Channel<Exception>(capacity, BufferOverflow.DROP_LATEST)
+
+    init {
+        require(capacity >= 1) { "capacity must be at least 1, was $capacity" }
+        require(maxPerSecond >= 1) { "maxPerSecond must be at least 1, was $maxPerSecond" }
+        CoroutineScope(dispatcher + SupervisorJob()).launch { drain() }
+    }
+
+    fun report(error: Exception) {
+        errors.trySend(error)
+    }
+
+    private suspend fun drain() {
+        var window = timeSource.markNow()
+        var delivered = 0
+        for (error in errors) {
+            if (window.elapsedNow() >= 1.seconds) {
+                window = timeSource.markNow()
+                delivered = 0
+            }
+            if (delivered < maxPerSecond) {
+                delivered++
+                try {
+                    sink(error)
+                } catch (ignored: Exception) {
+                }
+            }
+        }
+    }
+}
@@ -1,45 +1,92 @@
 package com.brentzey.functional
 
+import kotlin.concurrent.Volatile
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.cancellation.CancellationException
+
 /**
  * IO Monad for lazy, composable side effects.
  * Multiplatform equivalent to Scala's IO and Cats Effect.
  *
  * This type represents a lazy computation that may throw an exception.
  * Nothing happens until you call one of the execution methods.
+ *
+ * Internally an IO is a small op tree (pure, delay, suspend, evalOn, map, flatMap,
+ * handleError) evaluated by an iterative run loop, so chains of any length run in constant
+ * stack depth. The same loop runs blocking, for [unsafeRunSync], or suspending, for
+ * [await]; see IOCoroutines.kt for the coroutine and Flow bridge.
  */
-class IO<out T> private constructor(private val effect: () -> T) {
+sealed class IO<out T> {
+
+    internal class Pure<out T>(val value: T) : IO<T>()
+    internal class Delay<out T>(val thunk: () -> T) : IO<T>()
+    internal class Mapped<A, out T>(val source: IO<A>, val mapper: (A) -> T) : IO<T>()
+    internal class FlatMapped<A, out T>(val source: IO<A>, val mapper: (A) -> IO<T>) : IO<T>()
+    internal class HandleError<out T>(val source: IO<T>, val handler: (Exception) -> IO<T>) : IO<T>()
+    internal class Suspend<out T>(val block: suspend () -> T) : IO<T>()
+    internal class EvalOn<out T>(val source: IO<T>, val context: CoroutineContext) : IO<T>()
 
     companion object {
         /**
          * Wraps a computation that may throw an exception.
          */
-        fun <T> of(effect: () -> T): IO<T> = IO(effect)
+        fun <T> of(effect: () -> T): IO<T> = Delay(effect)
 
         /**
          * Wraps a pure value (no side effects).
          */
-        fun <T> pure(value: T): IO<T> = IO { value }
+        fun <T> pure(value: T): IO<T> = Pure(value)
+
+        /**
+         * Wraps a suspending computation. [await] suspends on it without holding a thread;
+         * [unsafeRunSync] blocks the calling thread until it completes. JS cannot block, so
+         * there the synchronous runners fail with [BlockingNotSupportedException].
+         */
+        fun <T> fromSuspend(block: suspend () -> T): IO<T> = Suspend(block)
+
+        /**
+         * Receives the failures that [runToNullable] swallows. It is called on the thread
+         * whose effect failed, so it must not block.
+         *
+         * On the JVM the default forwards to `IORuntime.errorReporter()`, which logs from a
+         * background thread and drops errors beyond its rate limit. Native does the same
+         * from a background coroutine; JavaScript prints in place.
+         */
+        @Volatile
+        var errorReporter: (Exception) -> Unit = platformErrorReporter()
     }
 
     /**
      * Transforms the result if successful.
      */
-    fun <R> map(mapper: (T) -> R): IO<R> = IO { mapper(effect()) }
+    fun <R> map(mapper: (T) -> R): IO<R> = Mapped(this, mapper)
 
     /**
      * Chains another IO operation.
      */
-    fun <R> flatMap(mapper: (T) -> IO<R>): IO<R> = IO { mapper(effect()).unsafeRunSync() }
+    fun <R> flatMap(mapper: (T) -> IO<R>): IO<R> = FlatMapped(this, mapper)
 
     /**
-     * Runs the effect. If it fails, returns null and prints error.
+     * Recovers from a failure by switching to the IO returned by the handler.
+     * Successful results pass through untouched.
+     */
+    fun handleErrorWith(handler: (Exception) -> IO<@UnsafeVariance T>): IO<T> = HandleError(this, handler)
+
+    /**
+     * Runs this effect on [context], usually a `CoroutineDispatcher`, and continues the
+     * rest of the chain where it was running before.
+     */
+    fun evalOn(context: CoroutineContext): IO<T> = EvalOn(this, context)
+
+    /**
+     * Runs the effect. If it fails, returns null and hands the error to [errorReporter].
      * Great for "fire and forget" or when you don't care about the error reason.
      */
     fun runToNullable(): T? {
         return try {
-            effect()
+            unsafeRunSync()
         } catch (e: Exception) {
-            println("IO Error: ${e.message}")
+            errorReporter(e)
             null
         }
     }
@@ -47,15 +94,19 @@ class IO<out T> private constructor(private val effect: () -> T) {
     /**
      * Runs the effect. Throws exception if it fails.
      * Equivalent to Scala IO.unsafeRunSync()
+     *
+     * @throws BlockingNotSupportedException on JS, when the effect reaches a step built with
+     *         [fromSuspend]; run it with [await] instead
      */
-    fun unsafeRunSync(): T = effect()
+    @Suppress("UNCHECKED_CAST")
+    fun unsafeRunSync(): T = runLoop(this) { blockOn(it) } as T
 
     /**
      * Runs the effect and returns a Result type
      */
     fun attempt(): Result<T> {
         return try {
-            Result.success(effect())
+            Result.success(unsafeRunSync())
         } catch (e: Exception) {
             Result.failure(e)
         }
@@ -77,3 +128,105 @@ class IO<out T> private constructor(private val effect: () -> T) {
         }
     }
 }
+
+/**
+ * The default [IO.errorReporter] for the platform.
+ */
+internal expect fun platformErrorReporter(): (Exception) -> Unit
+
+/**
+ * Runs a suspend or evalOn node for [IO.unsafeRunSync], blocking the calling thread.
+ */
+internal expect fun blockOn(node: IO<*>): Any?
+
+/**
+ * Thrown on JS by [IO.unsafeRunSync] when an effect reaches a step built with
+ * [IO.fromSuspend], since waiting for it would block JS's only thread. [IO.attempt] returns
+ * it as a failure and [IO.runToNullable] reports it like any other error. Suspending effects
+ * run on JS with [await].
+ */
+class BlockingNotSupportedException(message: String) : UnsupportedOperationException(message)
+
+/**
+ * Evaluates an op tree without recursion. Map, flatMap and handleError nodes are pushed
+ * onto an explicit continuation stack on the way down; values (or errors) are fed back
+ * through that stack on the way up.
+ *
+ * Suspend and evalOn nodes are handed to [suspended]. The loop is inline so that, called
+ * from a suspend function, [suspended] may suspend; a cancellation it throws is never
+ * routed to handleError.
+ */
+@Suppress("UNCHECKED_CAST")
+internal inline fun runLoop(start: IO<*>, suspended: (IO<*>) -> Any?): Any? {
+    val stack = ArrayList<IO<*>>()
+    var current: IO<*>? = start
+    var value: Any? = null
+    var error: Exception? = null
+
+    while (true) {
+        if (current != null) {
+            when (current) {
+                is IO.Pure -> value = current.value
+                is IO.Delay -> try {
+                    value = current.thunk()
+                } catch (e: Exception) {
+                    error = e
+                }
+                is IO.Suspend, is IO.EvalOn -> try {
+                    value = suspended(current)
+                } catch (e: CancellationException) {
+                    throw e
+                } catch (e: Exception) {
+                    error = e
+                }
+                is IO.Mapped<*, *> -> {
+                    stack.add(current)
+                    current = current.source
+                    continue
+                }
+                is IO.FlatMapped<*, *> -> {
+                    stack.add(current)
+                    current = current.source
+                    continue
+                }
+                is IO.HandleError -> {
+                    stack.add(current)
+                    current = current.source
+                    continue
+                }
+            }
+            current = null
+        }
+
+        val failure = error
+        if (failure != null) {
+            var handler: IO.HandleError<*>? = null
+            while (stack.isNotEmpty()) {
+                val frame = stack.removeAt(stack.lastIndex)
+                if (frame is IO.HandleError) {
+                    handler = frame
+                    break
+                }
+            }
+            if (handler == null) throw failure
+            error = null
+            try {
+                current = handler.handler(failure)
+            } catch (e: Exception) {
+                error = e
+            }
+            continue
+        }
+
+        if (stack.isEmpty()) return value
+        try {
+            when (val frame = stack.removeAt(stack.lastIndex)) {
+                is IO.Mapped<*, *> -> value = (frame.mapper as (Any?) -> Any?)(value)
+                is IO.FlatMapped<*, *> -> current = (frame.mapper as (Any?) -> IO<*>)(value)
+                else -> Unit
+            }
+        } catch (e: Exception) {
+            error = e
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.brentzey.functional
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.withContext
+
+/**
+ * Runs the effect inside a coroutine and returns its result, or throws its error.
+ *
+ * Suspending effects built with [IO.fromSuspend] suspend the coroutine instead of blocking
+ * its thread, and [IO.evalOn] switches dispatcher with `withContext`. Cancelling the
+ * coroutine cancels the suspending effect in progress; error handlers in the chain never
+ * see the cancellation.
+ */
+@Suppress("UNCHECKED_CAST")
+suspend fun <T> IO<T>.await(): T = runLoop(this) { node ->
+    when (node) {
+        is IO.Suspend -> node.block()
+        is IO.EvalOn -> withContext(node.context) { node.source.await() }
+        else -> error("Not a suspending node: $node")
+    }
+} as T
+
+/**
+ * A cold flow that runs the effect each time it is collected and emits its result.
+ */
+fun <T> IO<T>.asFlow(): Flow<T> = flow { emit(await()) }
+
+/**
+ * An effect that collects the flow into a list.
+ */
+fun <T> Flow<T>.toIO(): IO<List<T>> = IO.fromSuspend { toList() }
+
+/**
+ * Runs [transform]'s effect for every element, in order, and emits the results.
+ */
+fun <T, R> Flow<T>.mapIO(transform: (T) -> IO<R>): Flow<R> = map { transform(it).await() }
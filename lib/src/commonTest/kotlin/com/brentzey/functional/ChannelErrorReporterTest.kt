@@ -0,0 +1,60 @@
+package com.brentzey.functional
+
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+import kotlin.time.Duration.Companion.seconds
+import kotlin.time.TestTimeSource
+
+class ChannelErrorReporterTest {
+
+    @Test
+    fun testReportOnlyQueuesAndDropsWhenFull() = runTest {
+        val delivered = mutableListOf<String>()
+        val reporter = ChannelErrorReporter(capacity = 2, maxPerSecond = 100, StandardTestDispatcher(testScheduler)) {
+            delivered += it.message.orEmpty()
+        }
+
+        repeat(5) { reporter.report(IllegalStateException("e$it")) }
+        assertTrue(delivered.isEmpty())
+
+        advanceUntilIdle()
+        assertEquals(listOf("e0", "e1"), delivered)
+    }
+
+    @Test
+    fun testDropsErrorsBeyondTheRateLimit() = runTest {
+        val time = TestTimeSource()
+        val delivered = mutableListOf<String>()
+        val reporter = ChannelErrorReporter(16, maxPerSecond = 2, StandardTestDispatcher(testScheduler), time) {
+            delivered += it.message.orEmpty()
+        }
+
+        repeat(5) { reporter.report(IllegalStateException("e$it")) }
+        advanceUntilIdle()
+        assertEquals(listOf("e0", "e1"), delivered)
+
+        time += 1.seconds
+        reporter.report(IllegalStateException("e5"))
+        advanceUntilIdle()
+        assertEquals(listOf("e0", "e1", "e5"), delivered)
+    }
+
+    @Test
+    fun testSinkFailuresDoNotStopTheDrain() = runTest {
+        val delivered = mutableListOf<String>()
+        val reporter = ChannelErrorReporter(16, maxPerSecond = 100, StandardTestDispatcher(testScheduler)) {
+            delivered += it.message.orEmpty()
+            if (it.message == "first") throw IllegalStateException("sink failed")
+        }
+
+        reporter.report(IllegalStateException("first"))
+        reporter.report(IllegalStateException("second"))
+        advanceUntilIdle()
+
+        assertEquals(listOf("first", "second"), delivered)
+    }
+}
@@ -0,0 +1,78 @@
+package com.brentzey.functional
+
+import kotlinx.coroutines.CoroutineName
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class IOCoroutinesTest {
+
+    @Test
+    fun testAwaitRunsTheChain() = runTest {
+        val io = IO.of { 10 }
+            .flatMap { x -> IO.fromSuspend { delay(1_000); x + 1 } }
+            .map { it * 2 }
+
+        assertEquals(22, io.await())
+    }
+
+    @Test
+    fun testFromSuspendIsLazy() = runTest {
+        var runs = 0
+        val io = IO.fromSuspend { ++runs }
+
+        assertEquals(0, runs)
+        io.await()
+        assertEquals(2, io.await())
+    }
+
+    @Test
+    fun testSuspendingFailuresReachHandlers() = runTest {
+        val io = IO.fromSuspend<Int> { throw IllegalStateException("boom") }
+            .handleErrorWith { IO.pure(-1) }
+
+        assertEquals(-1, io.await())
+        assertFailsWith<IllegalStateException> {
+            IO.fromSuspend<Int> { throw IllegalStateException("boom") }.await()
+        }
+    }
+
+    @Test
+    fun testEvalOnSwitchesContext() = runTest {
+        val name = IO.fromSuspend { currentCoroutineContext()[CoroutineName]?.name }
+            .evalOn(CoroutineName("worker"))
+            .map { "on $it" }
+
+        assertEquals("on worker", name.await())
+    }
+
+    @Test
+    fun testCancellationIsNotHandled() = runTest {
+        var handled = false
+        val io = IO.fromSuspend<String> { awaitCancellation() }
+            .handleErrorWith { handled = true; IO.pure("swallowed") }
+        val run = async(start = CoroutineStart.UNDISPATCHED) { io.await() }
+
+        run.cancel()
+        run.join()
+
+        assertTrue(run.isCancelled)
+        assertEquals(false, handled)
+    }
+
+    @Test
+    fun testFlowConversions() = runTest {
+        assertEquals(listOf(42), IO.pure(42).asFlow().toList())
+        assertEquals(listOf(1, 2, 3), flowOf(1, 2, 3).toIO().await())
+        assertEquals(listOf(2, 4, 6), flowOf(1, 2, 3).mapIO { x -> IO.of { x * 2 } }.toList())
+    }
+}
@@ -84,6 +84,21 @@ class IOTest {
         assertNull(result)
     }
 
+    @Test
+    fun testRunToNullableReportsFailure() {
+        val previous = IO.errorReporter
+        val reported = mutableListOf<Exception>()
+        IO.errorReporter = { reported.add(it) }
+        try {
+            val result = IO.of<String> { throw IllegalStateException("reported") }.runToNullable()
+
+            assertNull(result)
+            assertEquals(listOf("reported"), reported.map { it.message })
+        } finally {
+            IO.errorReporter = previous
+        }
+    }
+
     @Test
     fun testUnsafeRunSyncSuccess() {
         val io = IO.of { "result" }
@@ -206,6 +221,48 @@ class IOTest {
         assertEquals("initial error", exception.message)
     }
 
+    @Test
+    fun testDeepMapChainIsStackSafe() {
+        var io = IO.pure(0)
+        repeat(100_000) { io = io.map { it + 1 } }
+
+        assertEquals(100_000, io.unsafeRunSync())
+    }
+
+    @Test
+    fun testDeepFlatMapChainIsStackSafe() {
+        var io = IO.pure(0)
+        repeat(100_000) { io = io.flatMap { x -> IO.of { x + 1 } } }
+
+        assertEquals(100_000, io.unsafeRunSync())
+    }
+
+    @Test
+    fun testRecursiveFlatMapIsStackSafe() {
+        fun countUp(n: Int, limit: Int): IO<Int> =
+            if (n == limit) IO.pure(n) else IO.pure(n + 1).flatMap { countUp(it, limit) }
+
+        assertEquals(100_000, countUp(0, 100_000).unsafeRunSync())
+    }
+
+    @Test
+    fun testHandleErrorWithRecovers() {
+        val io = IO.of<String> { throw Exception("boom") }
+            .map { it.uppercase() }
+            .handleErrorWith { e -> IO.pure("recovered: ${e.message}") }
+
+        assertEquals("recovered: boom", io.unsafeRunSync())
+    }
+
+    @Test
+    fun testHandleErrorWithOnSuccess() {
+        val io = IO.pure(21)
+            .handleErrorWith { IO.pure(-1) }
+            .map { it * 2 }
+
+        assertEquals(42, io.unsafeRunSync())
+    }
+
     @Test
     fun testResultSuccessType() {
         val result = IO.Result.success("value")
@@ -0,0 +1,10 @@
+package com.brentzey.functional
+
+/**
+ * JS cannot block its only thread. evalOn has nowhere else to run, so the effect runs in
+ * place; a suspending effect has to be run with [await].
+ */
+internal actual fun blockOn(node: IO<*>): Any? = when (node) {
+    is IO.EvalOn -> node.source.unsafeRunSync()
+    else -> throw BlockingNotSupportedException("Suspending IO cannot run synchronously on JS; use await()")
+}
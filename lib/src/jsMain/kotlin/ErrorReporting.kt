@@ -0,0 +1,9 @@
+package com.brentzey.functional
+
+/**
+ * JavaScript runs every effect on its one event-loop thread, so there is no other thread
+ * to hand the error to and no lock to contend for; printing happens in place.
+ */
+internal actual fun platformErrorReporter(): (Exception) -> Unit = { error ->
+    println("IO Error: ${error.message}")
+}
@@ -0,0 +1,38 @@
+package com.brentzey.functional
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertIs
+import kotlin.test.assertTrue
+
+class JsLibraryTest {
+
+    @Test
+    fun testUnsafeRunSyncRejectsSuspendSteps() {
+        val io = IO.fromSuspend { 1 }.map { it + 1 }
+
+        val error = assertFailsWith<BlockingNotSupportedException> { io.unsafeRunSync() }
+        assertTrue(error.message.orEmpty().contains("await()"))
+    }
+
+    @Test
+    fun testAttemptReturnsBlockingNotSupported() {
+        val result = IO.pure(1).flatMap { n -> IO.fromSuspend { n + 1 } }.attempt()
+
+        assertIs<IO.Result.Failure>(result)
+        assertIs<BlockingNotSupportedException>(result.error)
+    }
+
+    @Test
+    fun testAwaitRunsSuspendSteps() = runTest {
+        assertEquals(2, IO.fromSuspend { 1 }.map { it + 1 }.await())
+    }
+
+    @Test
+    fun testEvalOnRunsInPlace() {
+        assertEquals(3, IO.pure(1).map { it + 2 }.evalOn(Dispatchers.Default).unsafeRunSync())
+    }
+}
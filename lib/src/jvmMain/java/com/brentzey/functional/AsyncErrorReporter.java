@@ -0,0 +1,225 @@
+package com.brentzey.functional;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link ErrorReporter} that never blocks the failing thread: errors go into a bounded
+ * ring buffer, and a single daemon thread hands them to a slower sink such as
+ * {@code System.err} or a logger.
+ *
+ * <pre>{@code
+ * IORuntime.setErrorReporter(AsyncErrorReporter.create(4096, 0.1, 100, log::warn));
+ * }</pre>
+ *
+ * <p>Reporting keeps a {@code sampleRate} share of errors, then takes a permit from a
+ * {@link RateLimiter} allowing {@code maxPerSecond}, then claims a buffer slot with one
+ * compare-and-set. Errors turned away at any step are dropped and counted, so an outage
+ * that fails thousands of effects at once costs each of them a few atomic operations
+ * instead of a turn on the {@code System.err} lock.
+ *
+ * <p>The drain thread starts with the first report, so an idle reporter holds no thread,
+ * and parks whenever the buffer is empty. Errors thrown by the sink are ignored.
+ */
+public final class AsyncErrorReporter implements ErrorReporter, AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int CLOSED = 2;
+
+    private final ErrorReporter sink;
+    private final double sampleRate;
+    private final RateLimiter limiter;
+
+    // Bounded MPSC ring: a slot may be written when its sequence equals the producer
+    // position, and read when it equals the consumer position plus one.
+    private final int mask;
+    private final AtomicReferenceArray<Exception> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final AtomicInteger state = new AtomicInteger(NEW);
+    private volatile Thread drainer;
+    private volatile boolean parked;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    private AsyncErrorReporter(int capacity, double sampleRate, int maxPerSecond, ErrorReporter sink) {
+        this.sink = sink;
+        this.sampleRate = sampleRate;
+        this.limiter = RateLimiter.of(maxPerSecond, Duration.ofSeconds(1));
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * The default reporter: up to 1024 buffered errors, no sampling, at most 100 errors a
+     * second, each written to {@code System.err} as {@code "IO Error: " + message}.
+     */
+    public static AsyncErrorReporter create() {
+        return create(1024, 1.0, 100, error -> System.err.println("IO Error: " + error.getMessage()));
+    }
+
+    /**
+     * A reporter buffering up to {@code capacity} errors (rounded up to a power of two),
+     * keeping a {@code sampleRate} share of them (between 0 and 1), passing on at most
+     * {@code maxPerSecond}, and delivering them to {@code sink} on its drain thread.
+     */
+    public static AsyncErrorReporter create(int capacity, double sampleRate, int maxPerSecond, ErrorReporter sink) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30, was " + capacity);
+        }
+        if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+            throw new IllegalArgumentException("sampleRate must be in [0, 1], was " + sampleRate);
+        }
+        if (maxPerSecond < 1) {
+            throw new IllegalArgumentException("maxPerSecond must be at least 1, was " + maxPerSecond);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        return new AsyncErrorReporter(size, sampleRate, maxPerSecond, Objects.requireNonNull(sink, "sink"));
+    }
+
+    @Override
+    public void report(Exception error) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+        } else if (!limiter.tryAcquire()) {
+            rateLimited.increment();
+        } else if (state.get() == CLOSED || !offer(error)) {
+            overflowed.increment();
+        } else {
+            wakeDrainer();
+        }
+    }
+
+    /**
+     * Errors handed to the sink so far.
+     */
+    public long delivered() {
+        return delivered.sum();
+    }
+
+    /**
+     * Errors dropped so far, for any reason.
+     */
+    public long dropped() {
+        return sampledOut.sum() + rateLimited.sum() + overflowed.sum();
+    }
+
+    /**
+     * Errors dropped by sampling.
+     */
+    public long sampledOut() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * Errors dropped because more than {@code maxPerSecond} arrived.
+     */
+    public long rateLimited() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * Errors dropped because the buffer was full, or the reporter closed.
+     */
+    public long overflowed() {
+        return overflowed.sum();
+    }
+
+    /**
+     * Stops accepting errors. The drain thread delivers what is already buffered, then
+     * exits.
+     */
+    @Override
+    public void close() {
+        if (state.getAndSet(CLOSED) == RUNNING) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    private boolean offer(Exception error) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, error);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (distance < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private Exception poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        Exception error = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return error;
+    }
+
+    private void wakeDrainer() {
+        if (state.get() == NEW && state.compareAndSet(NEW, RUNNING)) {
+            Thread thread = new Thread(this::drain, "javaio-error-reporter");
+            thread.setDaemon(true);
+            drainer = thread;
+            thread.start();
+        } else if (parked) {
+            parked = false;
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void drain() {
+        while (true) {
+            Exception error = poll();
+            if (error != null) {
+                try {
+                    sink.report(error);
+                } catch (RuntimeException ignored) {
+                    // A failing sink must not stop later errors from being delivered.
+                }
+                delivered.increment();
+            } else if (state.get() == CLOSED) {
+                return;
+            } else {
+                parked = true;
+                if (sequences.get((int) head & mask) != head + 1) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                parked = false;
+            }
+        }
+    }
+}
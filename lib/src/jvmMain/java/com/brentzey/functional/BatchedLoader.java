@@ -0,0 +1,251 @@
+package com.brentzey.functional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Coalesces individual {@link #load(Object)} calls into bulk lookups, DataLoader style.
+ *
+ * <pre>{@code
+ * BatchedLoader<Long, User> users = BatchedLoader.of(ids -> userRepository.findAll(ids),
+ *     100, Duration.ofMillis(2));
+ *
+ * JavaIO<List<Optional<User>>> authors = JavaIO.parTraverse(postAuthorIds, users::load);
+ * }</pre>
+ *
+ * <p>Keys requested within the same window go to the batch function together, at most
+ * {@code maxBatchSize} distinct keys per call; a key requested twice in one window is
+ * looked up once. The first key of a batch starts its window. With a zero window the
+ * batch is flushed by a task on the default runtime as soon as that task gets to run, so
+ * it always holds everything a single {@link #loadMany} asks for but only catches the
+ * concurrent loads that happen to arrive first. A short window coalesces concurrent
+ * loads reliably at the cost of that much latency.
+ *
+ * <p>Adding a key is lock-free. Results are not cached beyond their batch; wrap a load in
+ * {@link JavaIO#memoize()} or {@link JavaIO#cached(Duration)} for that.
+ */
+public final class BatchedLoader<K, V> {
+
+    private final Function<? super Set<K>, JavaIO<Map<K, V>>> batchFn;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final AtomicReference<Batch<K, V>> pending;
+
+    private BatchedLoader(Function<? super Set<K>, JavaIO<Map<K, V>>> batchFn, int maxBatchSize, long windowNanos) {
+        this.batchFn = batchFn;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = windowNanos;
+        this.pending = new AtomicReference<>(new Batch<>(this));
+    }
+
+    /**
+     * A loader with no batch size limit that flushes on the next tick of the default runtime.
+     */
+    public static <K, V> BatchedLoader<K, V> of(Function<? super Set<K>, JavaIO<Map<K, V>>> batchFn) {
+        return of(batchFn, Integer.MAX_VALUE, Duration.ZERO);
+    }
+
+    /**
+     * A loader that sends at most {@code maxBatchSize} keys per call and waits up to
+     * {@code window} for more keys once a batch has started.
+     */
+    public static <K, V> BatchedLoader<K, V> of(Function<? super Set<K>, JavaIO<Map<K, V>>> batchFn,
+                                                int maxBatchSize,
+                                                Duration window) {
+        Objects.requireNonNull(batchFn, "batchFn");
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1, was " + maxBatchSize);
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("window must not be negative, was " + window);
+        }
+        return new BatchedLoader<>(batchFn, maxBatchSize, window.toNanos());
+    }
+
+    /**
+     * Looks up {@code key} as part of the next batch. The value is empty if the batch
+     * function's map has no entry for the key; if the batch function fails, every load
+     * in the batch fails with its error. Cancelling the load does not cancel the batch.
+     */
+    public JavaIO<Optional<V>> load(K key) {
+        Objects.requireNonNull(key, "key");
+        return JavaIO.fromCompletableFuture(() -> enqueue(key, null).copy());
+    }
+
+    /**
+     * Looks up all of {@code keys}, in as few batches as the batch size allows. The result
+     * holds the keys that were found.
+     */
+    public JavaIO<Map<K, V>> loadMany(Collection<? extends K> keys) {
+        List<K> snapshot = new ArrayList<>(keys);
+        snapshot.forEach(key -> Objects.requireNonNull(key, "key"));
+        return JavaIO.fromCompletableFuture(() -> {
+            List<CompletableFuture<Optional<V>>> futures = new ArrayList<>(snapshot.size());
+            List<Batch<K, V>> started = new ArrayList<>();
+            for (K key : snapshot) {
+                futures.add(enqueue(key, started));
+            }
+            started.forEach(this::schedule);
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+                Map<K, V> found = new HashMap<>();
+                for (int i = 0; i < snapshot.size(); i++) {
+                    K key = snapshot.get(i);
+                    futures.get(i).join().ifPresent(value -> found.put(key, value));
+                }
+                return found;
+            });
+        });
+    }
+
+    /**
+     * Adds {@code key} to the pending batch. A batch this call starts is scheduled to
+     * flush, or added to {@code started} for the caller to schedule once it has added all
+     * its keys.
+     */
+    private CompletableFuture<Optional<V>> enqueue(K key, List<Batch<K, V>> started) {
+        while (true) {
+            Batch<K, V> batch = pending.get();
+            // A sealed batch may already be dispatched or done; its results must not be reused.
+            if (!batch.sealed()) {
+                CompletableFuture<Optional<V>> existing = batch.entries.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+            int reserved = batch.reserve(maxBatchSize);
+            if (reserved < 0) {
+                pending.compareAndSet(batch, new Batch<>(this));
+                continue;
+            }
+            if (reserved == maxBatchSize - 1) {
+                // Taking the last slot sealed the batch; later keys go to a new one.
+                pending.compareAndSet(batch, new Batch<>(this));
+            }
+            if (reserved == 0 && maxBatchSize > 1) {
+                if (started == null) {
+                    schedule(batch);
+                } else {
+                    started.add(batch);
+                }
+            }
+            CompletableFuture<Optional<V>> result = batch.entries.computeIfAbsent(key, k -> new CompletableFuture<>());
+            batch.inserted();
+            return result;
+        }
+    }
+
+    private void schedule(Batch<K, V> batch) {
+        if (windowNanos == 0) {
+            IORuntime.defaultExecutor().execute(batch::seal);
+        } else {
+            IORuntime.timer().schedule(batch::seal, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Keys collected for one call of the batch function.
+     *
+     * <p>{@code state} counts reserved slots, with {@link #SEALED} set once the batch takes
+     * no more keys: when its window ends or its last slot is reserved. A key is added in
+     * two steps, reserving a slot and then inserting the entry, and {@code insertions}
+     * counts the second step. The batch is dispatched once it is sealed and every
+     * reservation has been inserted, by whichever of the sealer and the last inserter
+     * sees both.
+     */
+    private static final class Batch<K, V> {
+        private static final int SEALED = 1 << 31;
+
+        private final BatchedLoader<K, V> loader;
+        private final ConcurrentHashMap<K, CompletableFuture<Optional<V>>> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger state = new AtomicInteger();
+        private final AtomicInteger insertions = new AtomicInteger();
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+
+        Batch(BatchedLoader<K, V> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Reserves a slot for a new key and returns its index, or -1 if the batch is sealed.
+         * Reserving the last slot seals the batch.
+         */
+        int reserve(int maxSize) {
+            while (true) {
+                int current = state.get();
+                if ((current & SEALED) != 0) {
+                    return -1;
+                }
+                int next = current + 1 == maxSize ? (current + 1) | SEALED : current + 1;
+                if (state.compareAndSet(current, next)) {
+                    return current;
+                }
+            }
+        }
+
+        boolean sealed() {
+            return (state.get() & SEALED) != 0;
+        }
+
+        void inserted() {
+            int done = insertions.incrementAndGet();
+            int current = state.get();
+            if ((current & SEALED) != 0 && done == (current & ~SEALED)) {
+                dispatch();
+            }
+        }
+
+        void seal() {
+            int current = state.getAndUpdate(s -> s | SEALED);
+            if ((current & SEALED) == 0) {
+                loader.pending.compareAndSet(this, new Batch<>(loader));
+                if (insertions.get() == current) {
+                    dispatch();
+                }
+            }
+        }
+
+        private void dispatch() {
+            if (!dispatched.compareAndSet(false, true)) {
+                return;
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            JavaIO<Map<K, V>> call;
+            try {
+                call = Objects.requireNonNull(loader.batchFn.apply(Set.copyOf(entries.keySet())),
+                    "batchFn returned null");
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            call.runAsync(IORuntime.defaultExecutor()).whenComplete((results, error) -> {
+                if (error != null) {
+                    fail(error);
+                } else if (results == null) {
+                    fail(new NullPointerException("batchFn produced a null map"));
+                } else {
+                    entries.forEach((key, future) -> future.complete(Optional.ofNullable(results.get(key))));
+                }
+            });
+        }
+
+        private void fail(Throwable error) {
+            entries.values().forEach(future -> future.completeExceptionally(error));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.brentzey.functional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Limits how many effects wrapped with {@link JavaIO#bulkhead(Bulkhead)} run at once, and
+ * how many may wait for a turn.
+ *
+ * <pre>{@code
+ * Bulkhead inventory = Bulkhead.of(8, 32);
+ * JavaIO<Stock> stock = JavaIO.of(() -> inventoryClient.stock(sku)).bulkhead(inventory);
+ * }</pre>
+ *
+ * <p>Permits come from a non-blocking semaphore, so a run waiting for its turn suspends
+ * without holding a thread. Once {@code maxQueue} runs are already waiting, further runs
+ * fail straight away with a {@link RejectedExecutionException} instead of queueing. The
+ * permit is returned however the effect ends. Like {@link Resource#pooled}, a run
+ * cancelled while waiting for its turn still takes it and hands it straight back.
+ */
+public final class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final IOSemaphore permits;
+    private final JavaIO<Void> enter;
+    private final JavaIO<Void> exit;
+
+    private Bulkhead(int maxConcurrent, int maxQueue) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.permits = new IOSemaphore(maxConcurrent);
+        this.enter = JavaIO.fromCompletableFuture(() -> {
+            CompletableFuture<Void> turn = permits.tryAcquire(maxQueue);
+            if (turn == null) {
+                throw new RejectedExecutionException(
+                    "Bulkhead full: " + maxConcurrent + " running and " + maxQueue + " waiting");
+            }
+            return turn;
+        });
+        this.exit = JavaIO.of(() -> {
+            permits.release();
+            return null;
+        });
+    }
+
+    /**
+     * A bulkhead that lets {@code maxConcurrent} effects run at once and up to
+     * {@code maxQueue} more wait; {@code maxQueue} may be zero.
+     */
+    public static Bulkhead of(int maxConcurrent, int maxQueue) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1, was " + maxConcurrent);
+        }
+        if (maxQueue < 0) {
+            throw new IllegalArgumentException("maxQueue must not be negative, was " + maxQueue);
+        }
+        return new Bulkhead(maxConcurrent, maxQueue);
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int maxQueue() {
+        return maxQueue;
+    }
+
+    <T> JavaIO<T> protect(JavaIO<T> io) {
+        return JavaIO.bracket(enter, ignored -> io, ignored -> exit);
+    }
+}
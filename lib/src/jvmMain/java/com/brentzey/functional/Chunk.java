@@ -0,0 +1,171 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable, array-backed run of values: the unit an {@link IOStream} emits.
+ *
+ * <p>Operations work with plain loops over the backing array, so a stream pays its
+ * per-effect overhead once per chunk instead of once per element. Slicing with
+ * {@link #take(int)} and {@link #drop(int)} shares the array instead of copying it.
+ */
+public final class Chunk<T> {
+
+    private static final Chunk<?> EMPTY = new Chunk<>(new Object[0], 0, 0);
+
+    private final Object[] values;
+    private final int offset;
+    private final int size;
+
+    private Chunk(Object[] values, int offset, int size) {
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Wraps {@code values} without copying. Callers must not modify the array afterwards.
+     */
+    static <T> Chunk<T> wrap(Object[] values, int size) {
+        return size == 0 ? empty() : new Chunk<>(values, 0, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Chunk<T> empty() {
+        return (Chunk<T>) EMPTY;
+    }
+
+    public static <T> Chunk<T> single(T value) {
+        return new Chunk<>(new Object[] {value}, 0, 1);
+    }
+
+    @SafeVarargs
+    public static <T> Chunk<T> of(T... values) {
+        // Copied one by one so the generic array never leaves this method.
+        Object[] copy = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i];
+        }
+        return wrap(copy, copy.length);
+    }
+
+    public static <T> Chunk<T> fromCollection(Collection<? extends T> values) {
+        return wrap(values.toArray(), values.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        return (T) values[offset + index];
+    }
+
+    public <R> Chunk<R> map(Function<T, R> mapper) {
+        Object[] out = new Object[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = mapper.apply(get(i));
+        }
+        return wrap(out, size);
+    }
+
+    public IntChunk mapToInt(ToIntFunction<? super T> mapper) {
+        int[] out = new int[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = mapper.applyAsInt(get(i));
+        }
+        return IntChunk.wrap(out, size);
+    }
+
+    public LongChunk mapToLong(ToLongFunction<? super T> mapper) {
+        long[] out = new long[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = mapper.applyAsLong(get(i));
+        }
+        return LongChunk.wrap(out, size);
+    }
+
+    public DoubleChunk mapToDouble(ToDoubleFunction<? super T> mapper) {
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = mapper.applyAsDouble(get(i));
+        }
+        return DoubleChunk.wrap(out, size);
+    }
+
+    /**
+     * Keeps the values matching {@code predicate}. Returns this chunk if all of them match.
+     */
+    public Chunk<T> filter(Predicate<T> predicate) {
+        Object[] out = new Object[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T value = get(i);
+            if (predicate.test(value)) {
+                out[kept++] = value;
+            }
+        }
+        return kept == size ? this : wrap(out, kept);
+    }
+
+    public <R> R fold(R initial, BiFunction<R, ? super T, R> fn) {
+        R acc = initial;
+        for (int i = 0; i < size; i++) {
+            acc = fn.apply(acc, get(i));
+        }
+        return acc;
+    }
+
+    /**
+     * The first {@code n} values, sharing this chunk's array.
+     */
+    public Chunk<T> take(int n) {
+        if (n >= size) {
+            return this;
+        }
+        return n <= 0 ? empty() : new Chunk<>(values, offset, n);
+    }
+
+    /**
+     * All but the first {@code n} values, sharing this chunk's array.
+     */
+    public Chunk<T> drop(int n) {
+        if (n <= 0) {
+            return this;
+        }
+        return n >= size ? empty() : new Chunk<>(values, offset + n, size - n);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        return (List<T>) Arrays.asList(Arrays.copyOfRange(values, offset, offset + size));
+    }
+
+    @SuppressWarnings("unchecked")
+    void addTo(Collection<? super T> target) {
+        for (int i = 0; i < size; i++) {
+            target.add((T) values[offset + i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Chunk" + toList();
+    }
+}
@@ -0,0 +1,201 @@
+package com.brentzey.functional;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stops running effects wrapped with {@link JavaIO#withCircuitBreaker(CircuitBreaker)}
+ * while too many of them fail, so a struggling dependency is not hammered further and
+ * callers fail fast instead of tying up threads.
+ *
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.of(50, 0.5, Duration.ofSeconds(10));
+ * JavaIO<Quote> quote = JavaIO.of(() -> pricing.quote(sku)).withCircuitBreaker(breaker);
+ * }</pre>
+ *
+ * <p>While <em>closed</em>, the outcome of every run goes into a ring buffer holding the
+ * last {@code windowSize} outcomes. Once the buffer is full and the share of failures in it
+ * reaches the threshold, the breaker <em>opens</em> and every run fails at once with the
+ * breaker's {@link OpenException}, without running the effect. After {@code openDuration}
+ * the breaker goes <em>half-open</em> and lets a single probe through: if it succeeds the
+ * breaker closes with an empty window, if it fails the breaker opens again. A probe that
+ * never finishes, say because it was cancelled, is replaced by another after
+ * {@code openDuration}.
+ *
+ * <p>The state and the time it was entered share one atomic word, and the window is an
+ * array of atomic slots with a running failure count, so recording an outcome takes no
+ * lock and allocates nothing. The rejection is a single preallocated exception with no
+ * stack trace, so failing fast is cheap too.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * The states a breaker moves through.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    private static final int STATE_BITS = 2;
+    private static final int STATE_MASK = (1 << STATE_BITS) - 1;
+
+    private static final int SUCCEEDED = 0;
+    private static final int FAILED = 1;
+
+    private final int windowSize;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final long origin = System.nanoTime();
+
+    // The state in the low bits, and the time it was entered, in nanoseconds since origin, above them.
+    private final AtomicLong state = new AtomicLong(CLOSED);
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicIntegerArray window;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final OpenException rejection;
+    private final JavaIO<Boolean> admit = JavaIO.of(this::admit);
+
+    private CircuitBreaker(int windowSize, int failureThreshold, long openNanos) {
+        this.windowSize = windowSize;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        this.window = new AtomicIntegerArray(windowSize);
+        this.rejection = new OpenException("Circuit breaker is open");
+    }
+
+    /**
+     * A breaker that opens once at least {@code failureRate} (between 0 and 1) of the last
+     * {@code windowSize} runs failed, and stays open for {@code openDuration} before
+     * letting a probe through.
+     */
+    public static CircuitBreaker of(int windowSize, double failureRate, Duration openDuration) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be at least 1, was " + windowSize);
+        }
+        if (!(failureRate > 0.0 && failureRate <= 1.0)) {
+            throw new IllegalArgumentException("failureRate must be in (0, 1], was " + failureRate);
+        }
+        if (openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("openDuration must be positive, was " + openDuration);
+        }
+        int threshold = Math.max(1, (int) Math.ceil(failureRate * windowSize));
+        return new CircuitBreaker(windowSize, threshold, openDuration.toNanos());
+    }
+
+    public State state() {
+        return State.values()[(int) (state.get() & STATE_MASK)];
+    }
+
+    /**
+     * Failures among the outcomes currently in the window.
+     */
+    public int failures() {
+        return failures.get();
+    }
+
+    <T> JavaIO<T> protect(JavaIO<T> io) {
+        JavaIO<T> closed = recording(io, false);
+        JavaIO<T> probe = recording(io, true);
+        return admit.flatMap(isProbe -> isProbe ? probe : closed);
+    }
+
+    private <T> JavaIO<T> recording(JavaIO<T> io, boolean probe) {
+        return io.map(value -> {
+            succeeded(probe);
+            return value;
+        }).handleErrorWith(error -> {
+            failed(probe);
+            return JavaIO.raiseError(error);
+        });
+    }
+
+    /**
+     * Lets a run through, returning whether it is the half-open probe, or throws the
+     * rejection while the breaker is open.
+     */
+    private Boolean admit() {
+        while (true) {
+            long word = state.get();
+            if ((word & STATE_MASK) == CLOSED) {
+                return Boolean.FALSE;
+            }
+            long now = now();
+            if (now - (word >>> STATE_BITS) < openNanos) {
+                throw rejection;
+            }
+            if (state.compareAndSet(word, encode(HALF_OPEN, now))) {
+                return Boolean.TRUE;
+            }
+        }
+    }
+
+    private void succeeded(boolean probe) {
+        if (!probe) {
+            record(SUCCEEDED);
+            return;
+        }
+        long word = state.get();
+        if ((word & STATE_MASK) == HALF_OPEN && state.compareAndSet(word, CLOSED)) {
+            reset();
+        }
+    }
+
+    private void failed(boolean probe) {
+        if (!probe) {
+            if (record(FAILED) >= failureThreshold) {
+                state.compareAndSet(CLOSED, encode(OPEN, now()));
+            }
+            return;
+        }
+        long word = state.get();
+        if ((word & STATE_MASK) == HALF_OPEN) {
+            state.compareAndSet(word, encode(OPEN, now()));
+        }
+    }
+
+    /**
+     * Puts an outcome into the window and returns the failures it now holds, or zero while
+     * the window has not filled up yet.
+     */
+    private int record(int outcome) {
+        long call = calls.getAndIncrement();
+        int previous = window.getAndSet((int) (call % windowSize), outcome);
+        int failed = failures.addAndGet(outcome - previous);
+        return call + 1 >= windowSize ? failed : 0;
+    }
+
+    /**
+     * Empties the window. Slots are cleared one at a time, keeping the failure count equal
+     * to the sum of the slots even while other runs record outcomes.
+     */
+    private void reset() {
+        calls.set(0);
+        for (int i = 0; i < windowSize; i++) {
+            failures.addAndGet(-window.getAndSet(i, SUCCEEDED));
+        }
+    }
+
+    private long now() {
+        return System.nanoTime() - origin;
+    }
+
+    private static long encode(int state, long since) {
+        return since << STATE_BITS | state;
+    }
+
+    /**
+     * The failure returned while a breaker is open. Each breaker throws one shared instance
+     * with no stack trace and no suppressed exceptions, since it is thrown on every
+     * rejected run and says nothing about where the run came from.
+     */
+    public static final class OpenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        OpenException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
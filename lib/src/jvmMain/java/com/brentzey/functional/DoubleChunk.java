@@ -0,0 +1,126 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Immutable chunk of {@code double}s backed by a {@code double[]}. Unlike {@link Chunk},
+ * its operations take primitive functional interfaces, so mapping and folding never box.
+ */
+public final class DoubleChunk {
+
+    private static final DoubleChunk EMPTY = new DoubleChunk(new double[0], 0, 0);
+
+    private final double[] values;
+    private final int offset;
+    private final int size;
+
+    private DoubleChunk(double[] values, int offset, int size) {
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Wraps {@code values} without copying. Callers must not modify the array afterwards.
+     */
+    static DoubleChunk wrap(double[] values, int size) {
+        return size == 0 ? EMPTY : new DoubleChunk(values, 0, size);
+    }
+
+    public static DoubleChunk empty() {
+        return EMPTY;
+    }
+
+    public static DoubleChunk of(double... values) {
+        return wrap(values.clone(), values.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        return values[offset + index];
+    }
+
+    public DoubleChunk map(DoubleUnaryOperator mapper) {
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = mapper.applyAsDouble(values[offset + i]);
+        }
+        return wrap(out, size);
+    }
+
+    /**
+     * Keeps the values matching {@code predicate}. Returns this chunk if all of them match.
+     */
+    public DoubleChunk filter(DoublePredicate predicate) {
+        double[] out = new double[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            double value = values[offset + i];
+            if (predicate.test(value)) {
+                out[kept++] = value;
+            }
+        }
+        return kept == size ? this : wrap(out, kept);
+    }
+
+    public double fold(double initial, DoubleBinaryOperator fn) {
+        double acc = initial;
+        for (int i = 0; i < size; i++) {
+            acc = fn.applyAsDouble(acc, values[offset + i]);
+        }
+        return acc;
+    }
+
+    /**
+     * The first {@code n} values, sharing this chunk's array.
+     */
+    public DoubleChunk take(int n) {
+        if (n >= size) {
+            return this;
+        }
+        return n <= 0 ? EMPTY : new DoubleChunk(values, offset, n);
+    }
+
+    /**
+     * All but the first {@code n} values, sharing this chunk's array.
+     */
+    public DoubleChunk drop(int n) {
+        if (n <= 0) {
+            return this;
+        }
+        return n >= size ? EMPTY : new DoubleChunk(values, offset + n, size - n);
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + size);
+    }
+
+    /**
+     * The same values as a boxed {@link Chunk}, for handing to generic code.
+     */
+    public Chunk<Double> boxed() {
+        Object[] out = new Object[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = values[offset + i];
+        }
+        return Chunk.wrap(out, size);
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleChunk" + Arrays.toString(toArray());
+    }
+}
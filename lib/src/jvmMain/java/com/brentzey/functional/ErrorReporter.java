@@ -0,0 +1,21 @@
+package com.brentzey.functional;
+
+/**
+ * Receives the failures that {@link JavaIO#runToOptional()} and Kotlin's
+ * {@code IO.runToNullable()} swallow.
+ *
+ * <p>The reporter in use is {@link IORuntime#errorReporter()}. It is the first
+ * implementation found through {@link java.util.ServiceLoader} (list it in
+ * {@code META-INF/services/com.brentzey.functional.ErrorReporter}), or else a shared
+ * {@link AsyncErrorReporter} writing to {@code System.err}. Replace it at runtime with
+ * {@link IORuntime#setErrorReporter(ErrorReporter)}.
+ *
+ * <p>{@link #report(Exception)} is called on the thread whose effect failed, so it should
+ * return quickly and must not block; hand slow work such as logging to
+ * {@link AsyncErrorReporter}.
+ */
+@FunctionalInterface
+public interface ErrorReporter {
+
+    void report(Exception error);
+}
@@ -0,0 +1,54 @@
+package com.brentzey.functional;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle to a {@link JavaIO} effect running in the background, created by
+ * {@link JavaIO#start()}.
+ *
+ * <p>A fiber is not a thread: it is a run loop multiplexed onto a small pool of workers,
+ * so hundreds of thousands can be in flight at once. While it waits on an async boundary
+ * it holds no thread at all.
+ */
+public final class Fiber<T> {
+
+    private final CompletableFuture<T> outcome;
+
+    Fiber(CompletableFuture<T> outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * An effect that waits for the fiber to finish and yields its result, or fails with
+     * its error. Joining a cancelled fiber fails with a
+     * {@link java.util.concurrent.CancellationException}.
+     */
+    public JavaIO<T> join() {
+        return JavaIO.fromCompletableFuture(outcome);
+    }
+
+    /**
+     * Requests cancellation. The fiber stops at its next step; if it is waiting on a
+     * future, that future is cancelled, and if it is blocked inside a
+     * {@code CheckedSupplier}, its thread is interrupted.
+     *
+     * @return true if this call cancelled the fiber, false if it had already finished
+     */
+    public boolean cancel() {
+        return outcome.cancel(false);
+    }
+
+    /**
+     * Whether the fiber has finished, failed or been cancelled.
+     */
+    public boolean isDone() {
+        return outcome.isDone();
+    }
+
+    /**
+     * The fiber's outcome as a future, for callers outside of {@code JavaIO}.
+     */
+    public CompletableFuture<T> toCompletableFuture() {
+        return outcome;
+    }
+}
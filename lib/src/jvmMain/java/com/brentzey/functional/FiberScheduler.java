@@ -0,0 +1,152 @@
+package com.brentzey.functional;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Work-stealing scheduler that multiplexes {@link Fiber}s onto a fixed set of daemon
+ * worker threads.
+ *
+ * <p>Each worker owns a local queue. Tasks submitted from a worker (a fiber resuming
+ * or yielding) go to that worker's local queue; tasks submitted from anywhere else go to
+ * a shared injection queue. A worker takes from its own queue first, checks the shared
+ * queue every {@value #GLOBAL_CHECK_INTERVAL} tasks so outside work is never starved,
+ * and steals from the other workers' queues when it runs dry.
+ *
+ * <p>Workers start on the first submission and park when there is nothing to run. A
+ * worker that picks up a task while more work is queued wakes an idle peer to help.
+ */
+public final class FiberScheduler implements Executor {
+
+    private static final int GLOBAL_CHECK_INTERVAL = 61;
+
+    private final Worker[] workers;
+    private final Queue<Runnable> injected = new ConcurrentLinkedQueue<>();
+    private final Queue<Worker> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a scheduler with {@code parallelism} worker threads.
+     */
+    public FiberScheduler(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+        }
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(this, i);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("FiberScheduler has been shut down");
+        }
+        if (!started.get() && started.compareAndSet(false, true)) {
+            for (Worker worker : workers) {
+                worker.start();
+            }
+        }
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker worker && worker.scheduler == this) {
+            worker.local.addLast(task);
+        } else {
+            injected.add(task);
+        }
+        wakeIdleWorker();
+    }
+
+    private void wakeIdleWorker() {
+        Worker sleeper = idle.poll();
+        if (sleeper != null) {
+            LockSupport.unpark(sleeper);
+        }
+    }
+
+    /**
+     * Stops the workers once their current task finishes. Queued tasks are dropped and
+     * further submissions are rejected.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private Runnable steal(Worker thief) {
+        int n = workers.length;
+        for (int i = 1; i < n; i++) {
+            Runnable task = workers[(thief.index + i) % n].local.pollLast();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private static final class Worker extends Thread {
+        private final FiberScheduler scheduler;
+        private final int index;
+        private final ConcurrentLinkedDeque<Runnable> local = new ConcurrentLinkedDeque<>();
+        private int ticks;
+
+        Worker(FiberScheduler scheduler, int index) {
+            super("javaio-fiber-" + index);
+            this.scheduler = scheduler;
+            this.index = index;
+            setDaemon(true);
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        public void run() {
+            while (!scheduler.shutdown) {
+                Runnable task = next();
+                if (task == null) {
+                    scheduler.idle.add(this);
+                    task = next();
+                    if (task == null) {
+                        LockSupport.park(this);
+                    }
+                    scheduler.idle.remove(this);
+                    if (task == null) {
+                        continue;
+                    }
+                }
+                if (!local.isEmpty() || !scheduler.injected.isEmpty()) {
+                    scheduler.wakeIdleWorker();
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    getUncaughtExceptionHandler().uncaughtException(this, t);
+                }
+            }
+        }
+
+        private Runnable next() {
+            Runnable task = null;
+            if (++ticks % GLOBAL_CHECK_INTERVAL == 0) {
+                task = scheduler.injected.poll();
+            }
+            if (task == null) {
+                task = local.pollFirst();
+            }
+            if (task == null) {
+                task = scheduler.injected.poll();
+            }
+            if (task == null) {
+                task = scheduler.steal(this);
+            }
+            return task;
+        }
+    }
+}
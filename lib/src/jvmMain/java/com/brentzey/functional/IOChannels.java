@@ -0,0 +1,97 @@
+package com.brentzey.functional;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.Objects;
+
+/**
+ * {@link JavaIO} wrappers for NIO asynchronous channels, built on {@link JavaIO#async}.
+ *
+ * <p>Each operation is started when the effect runs and completes the effect from the
+ * channel's completion handler, so no thread is held while the I/O is in flight. Reads
+ * and writes return the number of bytes transferred, like the channel methods they wrap;
+ * a read returns -1 at end of stream. A single call may transfer fewer bytes than the
+ * buffer has room for, so loop until the buffer is full or empty if all of it matters.
+ */
+public final class IOChannels {
+
+    // Stateless: the callback travels as the attachment, so starting an operation
+    // allocates no handler.
+    private static final CompletionHandler<Object, JavaIO.Callback<Object>> HANDLER =
+        new CompletionHandler<>() {
+            @Override
+            public void completed(Object result, JavaIO.Callback<Object> callback) {
+                callback.succeed(result);
+            }
+
+            @Override
+            public void failed(Throwable error, JavaIO.Callback<Object> callback) {
+                callback.fail(error);
+            }
+        };
+
+    private IOChannels() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> CompletionHandler<T, JavaIO.Callback<T>> handler() {
+        return (CompletionHandler) HANDLER;
+    }
+
+    /**
+     * Reads into {@code dst} from the file, starting at {@code position}.
+     */
+    public static JavaIO<Integer> read(AsynchronousFileChannel channel, ByteBuffer dst, long position) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(dst, "dst");
+        return JavaIO.async(callback -> channel.read(dst, position, callback, handler()));
+    }
+
+    /**
+     * Writes the remaining bytes of {@code src} to the file, starting at {@code position}.
+     */
+    public static JavaIO<Integer> write(AsynchronousFileChannel channel, ByteBuffer src, long position) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(src, "src");
+        return JavaIO.async(callback -> channel.write(src, position, callback, handler()));
+    }
+
+    /**
+     * Reads into {@code dst} from the socket.
+     */
+    public static JavaIO<Integer> read(AsynchronousSocketChannel channel, ByteBuffer dst) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(dst, "dst");
+        return JavaIO.async(callback -> channel.read(dst, callback, handler()));
+    }
+
+    /**
+     * Writes the remaining bytes of {@code src} to the socket.
+     */
+    public static JavaIO<Integer> write(AsynchronousSocketChannel channel, ByteBuffer src) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(src, "src");
+        return JavaIO.async(callback -> channel.write(src, callback, handler()));
+    }
+
+    /**
+     * Connects the socket to {@code remote}.
+     */
+    public static JavaIO<Void> connect(AsynchronousSocketChannel channel, SocketAddress remote) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(remote, "remote");
+        return JavaIO.async(callback -> channel.connect(remote, callback, handler()));
+    }
+
+    /**
+     * Accepts the next connection on the server socket.
+     */
+    public static JavaIO<AsynchronousSocketChannel> accept(AsynchronousServerSocketChannel channel) {
+        Objects.requireNonNull(channel, "channel");
+        return JavaIO.async(callback -> channel.accept(callback, handler()));
+    }
+}
@@ -0,0 +1,186 @@
+package com.brentzey.functional;
+
+import java.util.concurrent.CancellationException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for {@link JavaIO} runs, named effects and async boundaries,
+ * all under the "JavaIO" category.
+ *
+ * <p>Each hook first checks its event type's enabled flag, a single field read, and does
+ * nothing else when the event is off: no event object is allocated and no clock is read.
+ * The types are looked up once, when this class is first used; where JFR is missing (a
+ * trimmed runtime image, or a native image built without JFR support) every event stays
+ * off.
+ *
+ * <p>Events carry the thread that committed them but no stack trace: they are committed
+ * from inside the run loop, or from whichever thread completed an async run, so the trace
+ * would only show the library. Name effects with {@link JavaIO#named(String)} to tell
+ * them apart.
+ */
+final class IOEvents {
+
+    private static final EventType RUN = typeOf(RunEvent.class);
+    private static final EventType EFFECT = typeOf(EffectEvent.class);
+    private static final EventType ASYNC = typeOf(AsyncEvent.class);
+
+    private IOEvents() {
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static EventType typeOf(Class<? extends Event> eventClass) {
+        try {
+            return EventType.getEventType(eventClass);
+        } catch (LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean enabled(EventType type) {
+        return type != null && type.isEnabled();
+    }
+
+    /**
+     * Starts a run event, or returns null if run events are off.
+     */
+    static RunEvent runStarted(Object executor) {
+        if (!enabled(RUN)) {
+            return null;
+        }
+        RunEvent event = new RunEvent();
+        event.async = executor != null;
+        event.executor = executor != null ? executor.getClass() : null;
+        event.begin();
+        return event;
+    }
+
+    static void runEnded(RunEvent event, Throwable error) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcomeOf(error);
+                event.failure = failureOf(error);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Starts an event for an effect named with {@link JavaIO#named(String)}, or returns
+     * null if those events are off.
+     */
+    static EffectEvent effectStarted(String name) {
+        if (!enabled(EFFECT)) {
+            return null;
+        }
+        EffectEvent event = new EffectEvent();
+        event.name = name;
+        event.begin();
+        return event;
+    }
+
+    static void effectEnded(EffectEvent event, Throwable error) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcomeOf(error);
+                event.failure = failureOf(error);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Starts an event for a wait at an async boundary, or returns null if those events
+     * are off.
+     */
+    static AsyncEvent asyncStarted(boolean suspends) {
+        if (!enabled(ASYNC)) {
+            return null;
+        }
+        AsyncEvent event = new AsyncEvent();
+        event.suspends = suspends;
+        event.begin();
+        return event;
+    }
+
+    static void asyncEnded(AsyncEvent event, Throwable error) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcomeOf(error);
+                event.failure = failureOf(error);
+                event.commit();
+            }
+        }
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        return error instanceof CancellationException ? "cancelled" : "failure";
+    }
+
+    private static Class<?> failureOf(Throwable error) {
+        return error == null || error instanceof CancellationException ? null : error.getClass();
+    }
+
+    @Name("com.brentzey.functional.Run")
+    @Label("JavaIO Run")
+    @Description("One run of an effect, from the run loop starting until it returns or its future completes")
+    @Category("JavaIO")
+    @StackTrace(false)
+    static final class RunEvent extends Event {
+        @Label("Async")
+        boolean async;
+
+        @Label("Executor")
+        Class<?> executor;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Label("Failure")
+        Class<?> failure;
+    }
+
+    @Name("com.brentzey.functional.Effect")
+    @Label("JavaIO Named Effect")
+    @Description("One run of an effect named with JavaIO.named")
+    @Category("JavaIO")
+    @StackTrace(false)
+    static final class EffectEvent extends Event {
+        @Label("Name")
+        String name;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Label("Failure")
+        Class<?> failure;
+    }
+
+    @Name("com.brentzey.functional.AsyncBoundary")
+    @Label("JavaIO Async Boundary")
+    @Description("Time an effect spent waiting for a future or callback")
+    @Category("JavaIO")
+    @StackTrace(false)
+    static final class AsyncEvent extends Event {
+        @Label("Suspends")
+        @Description("Whether the run gave up its thread while waiting, rather than blocking it")
+        boolean suspends;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Label("Failure")
+        Class<?> failure;
+    }
+}
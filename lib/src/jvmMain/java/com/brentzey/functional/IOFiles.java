@@ -0,0 +1,113 @@
+package com.brentzey.functional;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * File sources for {@link IOStream}.
+ */
+public final class IOFiles {
+
+    /**
+     * Chunk size used by {@link #mapped(Path)}.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * How much of the file is mapped at a time. Regions are mapped as the stream reaches
+     * them, so address space is reserved a region at a time rather than for the whole
+     * file, and regions already consumed can be unmapped by the GC.
+     */
+    static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private IOFiles() {
+    }
+
+    /**
+     * The file's contents as read-only {@link ByteBuffer} slices of
+     * {@link #DEFAULT_CHUNK_SIZE} bytes. See {@link #mapped(Path, int)}.
+     */
+    public static IOStream<ByteBuffer> mapped(Path path) {
+        return mapped(path, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * The file's contents as read-only {@link ByteBuffer} slices of {@code chunkSize} bytes
+     * (the last one may be shorter), memory-mapped with {@link FileChannel#map} instead of
+     * read onto the heap.
+     *
+     * <p>Nothing is copied: each slice is a view of the page cache, loaded by the OS as it
+     * is touched. The file is mapped lazily, one region at a time, as the stream is pulled.
+     * The size of the file is read when the stream starts; bytes appended afterwards are
+     * not included.
+     *
+     * <pre>{@code
+     * JavaIO<Long> lines = IOFiles.mapped(Path.of("app.log"))
+     *     .map(buffer -> countNewlines(buffer))
+     *     .fold(0L, Long::sum);
+     * }</pre>
+     */
+    public static IOStream<ByteBuffer> mapped(Path path, int chunkSize) {
+        return mapped(path, chunkSize, REGION_SIZE);
+    }
+
+    static IOStream<ByteBuffer> mapped(Path path, int chunkSize, long regionSize) {
+        Objects.requireNonNull(path, "path");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1, was " + chunkSize);
+        }
+        long region = Math.min(Math.max(chunkSize, regionSize / chunkSize * chunkSize),
+            (long) Integer.MAX_VALUE / chunkSize * chunkSize);
+        return IOStream.suspend(JavaIO.of(() -> {
+            MappedCursor cursor = new MappedCursor(path, Files.size(path), chunkSize, region);
+            return IOStream.unfoldChunks(JavaIO.of(cursor::next));
+        }));
+    }
+
+    /**
+     * Position of one run of a mapped stream within its file.
+     */
+    private static final class MappedCursor {
+        private final Path path;
+        private final long size;
+        private final int chunkSize;
+        private final long regionSize;
+        private long position;
+
+        MappedCursor(Path path, long size, int chunkSize, long regionSize) {
+            this.path = path;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.regionSize = regionSize;
+        }
+
+        /**
+         * Maps the next region and slices it, or returns null at the end of the file. The
+         * channel is closed straight away: a mapping stays valid after its channel closes.
+         */
+        Chunk<ByteBuffer> next() throws IOException {
+            if (position >= size) {
+                return null;
+            }
+            int length = (int) Math.min(regionSize, size - position);
+            MappedByteBuffer region;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            }
+            position += length;
+            int count = (length + chunkSize - 1) / chunkSize;
+            Object[] slices = new Object[count];
+            for (int i = 0; i < count; i++) {
+                int offset = i * chunkSize;
+                slices[i] = region.slice(offset, Math.min(chunkSize, length - offset));
+            }
+            return Chunk.wrap(slices, count);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Construction-time fusion behind {@link JavaIO#map}.
+ *
+ * <p>Consecutive maps collapse into one node whose function applies each step in a loop,
+ * and maps over {@link JavaIO#pure} collapse into one node holding the value and the steps
+ * to apply to it. Either way the run loop takes a single step where it used to take one
+ * per map, and pushes nothing onto its stack.
+ *
+ * <p>Nothing runs early: the functions are applied when the effect runs, every time it
+ * runs, exactly as if they had not been fused. A node holds at most {@link #MAX_STEPS}
+ * functions and the next map starts a new node, so building a long chain stays linear and
+ * a shared prefix is never modified.
+ */
+final class IOFusion {
+
+    static final int MAX_STEPS = 32;
+
+    private IOFusion() {
+    }
+
+    /**
+     * Composes {@code first} and {@code next}, or returns null if {@code first} already
+     * holds {@link #MAX_STEPS} functions.
+     */
+    static Function<Object, Object> andThen(Function<Object, Object> first, Function<Object, Object> next) {
+        if (first instanceof Steps steps) {
+            return steps.functions.length < MAX_STEPS ? steps.append(next) : null;
+        }
+        return new Steps(new Function<?, ?>[] {first, next});
+    }
+
+    /**
+     * Map functions applied one after another, in a loop rather than nested calls.
+     */
+    private static final class Steps implements Function<Object, Object> {
+        private final Function<Object, Object>[] functions;
+
+        @SuppressWarnings("unchecked")
+        Steps(Function<?, ?>[] functions) {
+            this.functions = (Function<Object, Object>[]) functions;
+        }
+
+        Steps append(Function<Object, Object> next) {
+            Function<?, ?>[] extended = Arrays.copyOf(functions, functions.length + 1);
+            extended[functions.length] = next;
+            return new Steps(extended);
+        }
+
+        @Override
+        public Object apply(Object value) {
+            Object result = value;
+            for (Function<Object, Object> function : functions) {
+                result = function.apply(result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A pure value and the map functions still to be applied to it.
+     */
+    static final class Mapped {
+        final Object value;
+        final Function<Object, Object> function;
+
+        Mapped(Object value, Function<Object, Object> function) {
+            this.value = value;
+            this.function = function;
+        }
+
+        Object get() {
+            return function.apply(value);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.brentzey.functional;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Lock-free, single-flight cache cell behind {@link JavaIO#memoize()} and
+ * {@link JavaIO#cached(java.time.Duration)}.
+ *
+ * <p>The cell is either empty, in flight or holding a value. The first caller to find it
+ * empty (or expired) swaps in an in-flight marker and runs the source; everyone else
+ * waits on that flight's future instead of running the source again. Failures reset the
+ * cell so the next caller retries. If the leader is cancelled, the cell is reset and its
+ * followers look it up again, so one of them takes over.
+ */
+final class IOMemo<T> {
+
+    private static final Object EMPTY = new Object();
+    private static final Exception ABANDONED = new CancellationException("memoized effect abandoned");
+
+    private final JavaIO<T> source;
+    private final long ttlNanos;
+    private final AtomicReference<Object> state = new AtomicReference<>(EMPTY);
+
+    private IOMemo(JavaIO<T> source, long ttlNanos) {
+        this.source = source;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @param ttlNanos how long a value stays cached, or a negative number for forever
+     */
+    static <T> JavaIO<T> memoize(JavaIO<T> source, long ttlNanos) {
+        IOMemo<T> memo = new IOMemo<>(source, ttlNanos);
+        return JavaIO.of(memo::lookup).flatMap(Function.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    private JavaIO<T> lookup() {
+        while (true) {
+            Object current = state.get();
+            if (current instanceof Cached) {
+                Cached<T> cached = (Cached<T>) current;
+                if (ttlNanos < 0 || System.nanoTime() - cached.expiresAt < 0) {
+                    return cached.value;
+                }
+            } else if (current instanceof InFlight) {
+                return JavaIO.fromCompletableFuture(((InFlight<T>) current).promise)
+                    .handleErrorWith(error -> error == ABANDONED
+                        ? JavaIO.of(this::lookup).flatMap(Function.identity())
+                        : JavaIO.raiseError(error));
+            }
+            InFlight<T> flight = new InFlight<>();
+            if (state.compareAndSet(current, flight)) {
+                return lead(flight);
+            }
+        }
+    }
+
+    private JavaIO<T> lead(InFlight<T> flight) {
+        return JavaIO.bracket(JavaIO.pure(flight), ignored -> evaluate(flight), this::abandon);
+    }
+
+    /**
+     * Runs after the leader finishes. If it neither cached a value nor reset the cell it
+     * was cancelled, and its followers must not wait forever.
+     */
+    private JavaIO<Void> abandon(InFlight<T> flight) {
+        return JavaIO.of(() -> {
+            if (state.compareAndSet(flight, EMPTY)) {
+                flight.promise.completeExceptionally(ABANDONED);
+            }
+            return null;
+        });
+    }
+
+    private JavaIO<T> evaluate(InFlight<T> flight) {
+        return source
+            .flatMap(value -> {
+                Cached<T> cached = new Cached<>(JavaIO.pure(value), System.nanoTime() + ttlNanos);
+                state.compareAndSet(flight, cached);
+                flight.promise.complete(value);
+                return cached.value;
+            })
+            .handleErrorWith(error -> {
+                state.compareAndSet(flight, EMPTY);
+                flight.promise.completeExceptionally(error);
+                return JavaIO.raiseError(error);
+            });
+    }
+
+    private static final class InFlight<T> {
+        final CompletableFuture<T> promise = new CompletableFuture<>();
+    }
+
+    private static final class Cached<T> {
+        final JavaIO<T> value;
+        final long expiresAt;
+
+        Cached(JavaIO<T> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
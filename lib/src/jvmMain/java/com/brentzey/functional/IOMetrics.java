@@ -0,0 +1,54 @@
+package com.brentzey.functional;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the latency histograms recorded by {@link JavaIO#named(String)}.
+ *
+ * <pre>{@code
+ * JavaIO<User> load = fetchUser(id).named("user.fetch");
+ * ...
+ * LatencySnapshot stats = IOMetrics.snapshot("user.fetch");
+ * log.info("p50={} p99={} p999={}", stats.p50(), stats.p99(), stats.p999());
+ * }</pre>
+ *
+ * <p>Each name has one lock-free, striped histogram with log-linear buckets, accurate to
+ * about 3% from nanoseconds up to 36 minutes. Recording never allocates or blocks, so
+ * named effects can stay on in production. Histograms are cumulative from the first
+ * time a name is used.
+ */
+public final class IOMetrics {
+
+    private static final ConcurrentHashMap<String, LatencyRecorder> RECORDERS = new ConcurrentHashMap<>();
+
+    private IOMetrics() {
+    }
+
+    static LatencyRecorder recorder(String name) {
+        Objects.requireNonNull(name, "name");
+        return RECORDERS.computeIfAbsent(name, LatencyRecorder::new);
+    }
+
+    /**
+     * A snapshot of the histogram for {@code name}, empty if nothing was named that.
+     */
+    public static LatencySnapshot snapshot(String name) {
+        LatencyRecorder recorder = RECORDERS.get(Objects.requireNonNull(name, "name"));
+        if (recorder == null) {
+            return new LatencySnapshot(name, new long[LatencyRecorder.BUCKETS], 0, 0, 0);
+        }
+        return recorder.snapshot();
+    }
+
+    /**
+     * Snapshots of every histogram, by name.
+     */
+    public static Map<String, LatencySnapshot> snapshots() {
+        Map<String, LatencySnapshot> result = new TreeMap<>();
+        RECORDERS.forEach((name, recorder) -> result.put(name, recorder.snapshot()));
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Bounded-concurrency fan-out behind {@link JavaIO#parTraverse}.
+ *
+ * <p>At most {@code maxConcurrency} effects run at once. Results are written by index,
+ * so the output keeps input order regardless of completion order. The first failure, or
+ * cancelling the traversal from outside, cancels every effect still running.
+ */
+final class IOParallel<A, B> {
+
+    private final List<A> items;
+    private final Function<? super A, JavaIO<B>> fn;
+    private final Executor executor;
+    private final Object[] results;
+    private final AtomicReferenceArray<CompletableFuture<B>> running;
+    private final CompletableFuture<List<B>> result = new CompletableFuture<>();
+    private final AtomicInteger remaining;
+    private final AtomicInteger permits;
+    private final AtomicInteger wip = new AtomicInteger();
+    private int next;
+
+    private IOParallel(List<A> items, Function<? super A, JavaIO<B>> fn, int maxConcurrency, Executor executor) {
+        this.items = items;
+        this.fn = fn;
+        this.executor = executor;
+        this.results = new Object[items.size()];
+        this.running = new AtomicReferenceArray<>(items.size());
+        this.remaining = new AtomicInteger(items.size());
+        this.permits = new AtomicInteger(Math.min(maxConcurrency, items.size()));
+    }
+
+    static <A, B> CompletableFuture<List<B>> traverse(List<A> items,
+                                                      Function<? super A, JavaIO<B>> fn,
+                                                      int maxConcurrency,
+                                                      Executor executor) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        IOParallel<A, B> traversal = new IOParallel<>(items, fn, maxConcurrency, executor);
+        traversal.result.whenComplete((values, error) -> {
+            if (error != null) {
+                traversal.cancelRunning();
+            }
+        });
+        traversal.drain();
+        return traversal.result;
+    }
+
+    /**
+     * Launches effects while lanes are free. Only one thread drains at a time; completions
+     * that arrive meanwhile bump {@code wip} and are picked up by the next pass, so
+     * synchronous completions never recurse.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            while (next < items.size() && !result.isDone() && permits.get() > 0) {
+                permits.decrementAndGet();
+                launch(next++);
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void launch(int index) {
+        CompletableFuture<B> future;
+        try {
+            future = fn.apply(items.get(index)).runAsync(executor);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        running.set(index, future);
+        if (result.isDone()) {
+            future.cancel(true);
+        }
+        future.whenComplete((value, error) -> {
+            running.set(index, null);
+            if (error != null) {
+                fail(error);
+                return;
+            }
+            results[index] = value;
+            if (remaining.decrementAndGet() == 0) {
+                result.complete((List<B>) Arrays.asList(results));
+            } else {
+                permits.incrementAndGet();
+                drain();
+            }
+        });
+    }
+
+    private void fail(Throwable error) {
+        result.completeExceptionally(IORunLoop.asException(error));
+    }
+
+    private void cancelRunning() {
+        for (int i = 0; i < running.length(); i++) {
+            CompletableFuture<B> future = running.get(i);
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.brentzey.functional;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Bounded object pool behind {@link Resource#pooled(JavaIO, int)}.
+ *
+ * <p>A checkout takes a permit from a non-blocking {@link IOSemaphore}, then pops an idle
+ * object or, while the pool is still filling up, creates one with the factory. Checkouts
+ * beyond {@code size} suspend until an object is returned. Idle objects are kept in LIFO
+ * order so the most recently used, and most likely warm, one is handed out first.
+ */
+final class IOPool<T> {
+
+    private final JavaIO<T> factory;
+    private final IOSemaphore permits;
+    private final Deque<T> idle = new ConcurrentLinkedDeque<>();
+
+    IOPool(JavaIO<T> factory, int size) {
+        this.factory = factory;
+        this.permits = new IOSemaphore(size);
+    }
+
+    JavaIO<T> checkout() {
+        return JavaIO.fromCompletableFuture(permits::acquire).flatMap(ignored -> {
+            T item = idle.pollFirst();
+            if (item != null) {
+                return JavaIO.pure(item);
+            }
+            return factory.handleErrorWith(error -> {
+                permits.release();
+                return JavaIO.raiseError(error);
+            });
+        });
+    }
+
+    JavaIO<Void> checkin(T item) {
+        return JavaIO.of(() -> {
+            idle.offerFirst(item);
+            permits.release();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.brentzey.functional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-outcome-wins combinators behind {@link JavaIO#race} and
+ * {@link JavaIO#timeoutTo(java.time.Duration, JavaIO)}.
+ *
+ * <p>Every effect started here runs as its own async run loop, so losing means having its
+ * future cancelled: the run stops at its next step, cancels whatever it waits on, and
+ * has a blocked supplier interrupted. Cancelling the combined future cancels everything
+ * still running.
+ */
+final class IORace {
+
+    private IORace() {
+    }
+
+    static <T> CompletableFuture<T> race(JavaIO<? extends T> a, JavaIO<? extends T> b, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<? extends T> left = a.runAsync(executor);
+        CompletableFuture<? extends T> right = b.runAsync(executor);
+        result.whenComplete((value, error) -> {
+            left.cancel(true);
+            right.cancel(true);
+        });
+        left.whenComplete((value, error) -> settle(result, value, error));
+        right.whenComplete((value, error) -> settle(result, value, error));
+        return result;
+    }
+
+    /**
+     * Runs {@code io}, and if it has not finished after {@code nanos} cancels it and runs
+     * {@code fallback} instead. The countdown runs on the shared timer, so it fires even
+     * when every executor thread is stuck in a supplier.
+     */
+    static <T> CompletableFuture<T> timeout(JavaIO<T> io, long nanos, JavaIO<T> fallback, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<T> primary = io.runAsync(executor);
+        ScheduledFuture<?> timer = IORuntime.timer().schedule(() -> {
+            if (primary.cancel(true)) {
+                CompletableFuture<T> backup = fallback.runAsync(executor);
+                result.whenComplete((value, error) -> backup.cancel(true));
+                backup.whenComplete((value, error) -> settle(result, value, error));
+            }
+        }, nanos, TimeUnit.NANOSECONDS);
+        result.whenComplete((value, error) -> {
+            timer.cancel(false);
+            primary.cancel(true);
+        });
+        primary.whenComplete((value, error) -> {
+            if (!primary.isCancelled()) {
+                settle(result, value, error);
+            }
+        });
+        return result;
+    }
+
+    private static <T> void settle(CompletableFuture<T> result, T value, Throwable error) {
+        if (error == null) {
+            result.complete(value);
+        } else {
+            result.completeExceptionally(IORunLoop.asException(error));
+        }
+    }
+}
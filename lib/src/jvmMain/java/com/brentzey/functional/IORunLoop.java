@@ -0,0 +1,521 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Interpreter for {@link JavaIO} op trees.
+ *
+ * <p>Map, flatMap, handleError and recover nodes are pushed onto an explicit continuation
+ * stack on the way down; values (or errors) are fed back through that stack on the way up,
+ * so evaluation runs in constant Java stack depth. Errors are carried as values rather than
+ * thrown: a raised error goes straight to the nearest handler, and an unhandled one ends
+ * the loop with {@link #FAILED}, so it is thrown at most once, by the caller that wants it.
+ *
+ * <p>Run synchronously, async boundaries block the calling thread. Run on an executor,
+ * the loop suspends at an async boundary and the completion callback resubmits it, and
+ * it yields its thread back to the executor every {@link #AUTO_YIELD_STEPS} steps. A run
+ * on an executor is what a {@link Fiber} wraps.
+ *
+ * <p>An async run stops as soon as its future is completed from outside, typically by
+ * cancellation: the future it is waiting on (if any) is cancelled, and a thread blocked
+ * inside a {@code CheckedSupplier} is interrupted. The interrupt is cleared again before
+ * the thread goes back to its executor.
+ *
+ * <p>Brackets push a release frame once their resource is acquired. The release runs when
+ * the body succeeds, fails or is cancelled; acquisition and release themselves are masked,
+ * so cancellation waits for them to finish instead of cutting them short.
+ *
+ * <p>Runs and async boundaries are reported as JDK Flight Recorder events when those are
+ * enabled (see {@link IOEvents}).
+ */
+final class IORunLoop implements Runnable {
+
+    private static final int INITIAL_STACK_SIZE = 16;
+    private static final JavaIO<?>[] EMPTY_STACK = new JavaIO<?>[0];
+    private static final Object SUSPENDED = new Object();
+    private static final Object FAILED = new Object();
+
+    /**
+     * Steps an async run takes before handing its thread back to the executor, so long or
+     * infinite chains cannot starve other effects sharing the same workers.
+     */
+    static final int AUTO_YIELD_STEPS = 1024;
+
+    private static final int IDLE = 0;
+    private static final int BLOCKING = 1;
+    private static final int INTERRUPTING = 2;
+    private static final int INTERRUPTED = 3;
+
+    private final Executor executor;
+    private final CompletableFuture<Object> promise;
+
+    private JavaIO<?>[] stack = EMPTY_STACK;
+    private int depth;
+    private JavaIO<?> current;
+    private Object value;
+    private Exception error;
+    private int masks;
+
+    private final AtomicInteger blocking = new AtomicInteger(IDLE);
+    private volatile Thread runner;
+    private volatile CompletionStage<?> awaiting;
+
+    private IORunLoop(JavaIO<?> start, Executor executor, CompletableFuture<Object> promise) {
+        this.current = start;
+        this.executor = executor;
+        this.promise = promise;
+    }
+
+    static Object runSync(JavaIO<?> io) throws Exception {
+        IORunLoop loop = new IORunLoop(io, null, null);
+        Object result = loop.loopSync();
+        if (result == FAILED) {
+            throw loop.error;
+        }
+        return result;
+    }
+
+    /**
+     * Runs {@code io} on the calling thread and returns its outcome without throwing.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> JavaIO.Result<T> attemptSync(JavaIO<T> io) {
+        IORunLoop loop = new IORunLoop(io, null, null);
+        Object result = loop.loopSync();
+        return result == FAILED ? JavaIO.Result.failure(loop.error) : JavaIO.Result.success((T) result);
+    }
+
+    private Object loopSync() {
+        IOEvents.RunEvent event = IOEvents.runStarted(null);
+        Object result = loop();
+        if (event != null) {
+            IOEvents.runEnded(event, result == FAILED ? error : null);
+        }
+        return result;
+    }
+
+    /**
+     * Starts {@code io} on {@code executor} and returns a future for its outcome.
+     * Completing or cancelling the future from outside stops the loop at its next step.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CompletableFuture<T> runAsync(JavaIO<T> io, Executor executor) {
+        CompletableFuture<Object> promise = new CompletableFuture<>();
+        IORunLoop loop = new IORunLoop(io, executor, promise);
+        IOEvents.RunEvent event = IOEvents.runStarted(executor);
+        if (event == null) {
+            promise.whenComplete((value, error) -> loop.stop());
+        } else {
+            promise.whenComplete((value, error) -> {
+                loop.stop();
+                IOEvents.runEnded(event, error);
+            });
+        }
+        try {
+            executor.execute(loop);
+        } catch (RejectedExecutionException e) {
+            promise.completeExceptionally(e);
+        }
+        return (CompletableFuture<T>) promise;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    public void run() {
+        try {
+            Object result = loop();
+            if (result == FAILED) {
+                promise.completeExceptionally(error);
+            } else if (result != SUSPENDED) {
+                promise.complete(result);
+            }
+        } catch (Throwable t) {
+            promise.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Runs until the effect completes, fails or suspends. Returns the value, or
+     * {@link #FAILED} with the error left in {@link #error}, or {@link #SUSPENDED}.
+     */
+    @SuppressWarnings("unchecked")
+    private Object loop() {
+        JavaIO<?>[] stack = this.stack;
+        int depth = this.depth;
+        JavaIO<?> current = this.current;
+        Object value = this.value;
+        Exception error = this.error;
+        int masks = this.masks;
+        int budget = AUTO_YIELD_STEPS;
+
+        while (true) {
+            if (promise != null) {
+                if (masks == 0 && promise.isDone()) {
+                    JavaIO<?> release = null;
+                    while (depth > 0) {
+                        JavaIO<?> frame = stack[--depth];
+                        if (frame.tag == JavaIO.RELEASE) {
+                            release = frame;
+                            break;
+                        }
+                    }
+                    if (release == null) {
+                        return SUSPENDED;
+                    }
+                    stack[depth++] = JavaIO.frame(JavaIO.FINALIZED, Exit.CANCELED);
+                    masks++;
+                    value = null;
+                    error = null;
+                    try {
+                        current = ((Finalizer) release.payload).release();
+                    } catch (Exception e) {
+                        current = null;
+                        error = e;
+                    }
+                }
+                if (--budget == 0) {
+                    this.stack = stack;
+                    this.depth = depth;
+                    this.current = current;
+                    this.value = value;
+                    this.error = error;
+                    this.masks = masks;
+                    resume();
+                    return SUSPENDED;
+                }
+            }
+            if (current != null) {
+                switch (current.tag) {
+                    case JavaIO.PURE -> value = current.payload;
+                    case JavaIO.RAISE_ERROR -> error = (Exception) current.payload;
+                    case JavaIO.PURE_MAP -> {
+                        try {
+                            value = ((IOFusion.Mapped) current.payload).get();
+                        } catch (Exception e) {
+                            error = e;
+                        }
+                    }
+                    case JavaIO.DELAY -> {
+                        boolean interruptible = promise != null && masks == 0;
+                        if (interruptible && !enterBlocking()) {
+                            continue;
+                        }
+                        try {
+                            value = ((JavaIO.CheckedSupplier<?>) current.payload).get();
+                        } catch (Exception e) {
+                            error = e;
+                        } finally {
+                            if (interruptible) {
+                                exitBlocking();
+                            }
+                        }
+                    }
+                    case JavaIO.ASYNC -> {
+                        IOEvents.AsyncEvent event = IOEvents.asyncStarted(executor != null);
+                        CompletionStage<?> stage = null;
+                        try {
+                            stage = Objects.requireNonNull(
+                                ((JavaIO.CheckedSupplier<? extends CompletionStage<?>>) current.payload).get(),
+                                "fromCompletableFuture supplier returned null");
+                        } catch (Exception e) {
+                            error = e;
+                            IOEvents.asyncEnded(event, e);
+                        }
+                        if (stage != null) {
+                            if (executor == null) {
+                                try {
+                                    value = stage.toCompletableFuture().get();
+                                } catch (ExecutionException e) {
+                                    error = asException(e.getCause());
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    cancel(stage);
+                                    error = e;
+                                } catch (RuntimeException e) {
+                                    // A CancellationException from a cancelled stage, or a
+                                    // failure of toCompletableFuture() itself.
+                                    error = e;
+                                } finally {
+                                    IOEvents.asyncEnded(event, error);
+                                }
+                            } else {
+                                AsyncCallback callback = new AsyncCallback(this, event);
+                                this.stack = stack;
+                                this.depth = depth;
+                                this.current = null;
+                                this.masks = masks;
+                                if (masks == 0) {
+                                    awaiting = stage;
+                                    if (promise.isDone()) {
+                                        cancel(stage);
+                                    }
+                                }
+                                stage.whenComplete(callback);
+                                if (callback.trySuspend()) {
+                                    return SUSPENDED;
+                                }
+                                awaiting = null;
+                                value = callback.value;
+                                error = callback.error;
+                            }
+                        }
+                    }
+                    default -> {
+                        if (depth == stack.length) {
+                            stack = Arrays.copyOf(stack, Math.max(INITIAL_STACK_SIZE, depth << 1));
+                        }
+                        if (current.tag == JavaIO.BRACKET) {
+                            masks++;
+                        }
+                        stack[depth++] = current;
+                        current = current.source;
+                        continue;
+                    }
+                }
+                current = null;
+            }
+
+            if (error != null) {
+                JavaIO<?> handler = null;
+                while (depth > 0 && handler == null && error != null) {
+                    JavaIO<?> frame = stack[--depth];
+                    switch (frame.tag) {
+                        case JavaIO.HANDLE_ERROR, JavaIO.RECOVER, JavaIO.RELEASE -> handler = frame;
+                        case JavaIO.BRACKET -> masks--;
+                        case JavaIO.FINALIZED -> {
+                            masks--;
+                            Exit exit = (Exit) frame.payload;
+                            if (exit == Exit.CANCELED) {
+                                error = null;
+                            } else if (exit.error != null) {
+                                if (exit.error != error) {
+                                    exit.error.addSuppressed(error);
+                                }
+                                error = exit.error;
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+                if (error == null) {
+                    continue;
+                }
+                if (handler == null) {
+                    this.error = error;
+                    return FAILED;
+                }
+                Exception failure = error;
+                error = null;
+                try {
+                    if (handler.tag == JavaIO.RELEASE) {
+                        stack[depth++] = JavaIO.frame(JavaIO.FINALIZED, new Exit(null, failure));
+                        masks++;
+                        current = ((Finalizer) handler.payload).release();
+                    } else if (handler.tag == JavaIO.RECOVER) {
+                        value = ((Function<Exception, Object>) handler.payload).apply(failure);
+                    } else {
+                        current = Objects.requireNonNull(
+                            ((Function<Exception, JavaIO<?>>) handler.payload).apply(failure),
+                            "handleErrorWith handler returned null");
+                    }
+                } catch (Exception e) {
+                    error = e;
+                }
+                continue;
+            }
+
+            if (depth == 0) {
+                return value;
+            }
+            JavaIO<?> frame = stack[--depth];
+            try {
+                switch (frame.tag) {
+                    case JavaIO.MAP -> value = ((Function<Object, Object>) frame.payload).apply(value);
+                    case JavaIO.FLAT_MAP -> current = Objects.requireNonNull(
+                        ((Function<Object, JavaIO<?>>) frame.payload).apply(value),
+                        "flatMap mapper returned null");
+                    case JavaIO.BRACKET -> {
+                        masks--;
+                        JavaIO.Bracket<Object, ?> bracket = (JavaIO.Bracket<Object, ?>) frame.payload;
+                        stack[depth++] = JavaIO.frame(JavaIO.RELEASE, new Finalizer(bracket.release, value));
+                        current = Objects.requireNonNull(bracket.use.apply(value), "bracket use returned null");
+                    }
+                    case JavaIO.RELEASE -> {
+                        stack[depth++] = JavaIO.frame(JavaIO.FINALIZED, new Exit(value, null));
+                        masks++;
+                        current = ((Finalizer) frame.payload).release();
+                    }
+                    case JavaIO.FINALIZED -> {
+                        masks--;
+                        Exit exit = (Exit) frame.payload;
+                        value = exit.value;
+                        error = exit.error;
+                    }
+                    default -> {
+                    }
+                }
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+    }
+
+    private void resume() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            promise.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Marks the current thread as blocked in a supplier, so {@link #stop()} can interrupt
+     * it. Returns false if the run has already been stopped.
+     */
+    private boolean enterBlocking() {
+        runner = Thread.currentThread();
+        blocking.set(BLOCKING);
+        if (promise.isDone()) {
+            exitBlocking();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Leaves the blocking section. If {@link #stop()} is interrupting this thread, waits
+     * for it to finish and clears the interrupt, so it never leaks into the next task.
+     */
+    private void exitBlocking() {
+        if (!blocking.compareAndSet(BLOCKING, IDLE)) {
+            while (blocking.get() != INTERRUPTED) {
+                Thread.onSpinWait();
+            }
+            Thread.interrupted();
+            blocking.set(IDLE);
+        }
+    }
+
+    /**
+     * Called once the promise completes, from whichever thread completed it. When the loop
+     * completed it itself there is nothing to release; otherwise the run was stopped from
+     * outside, so cancel what it waits on and interrupt a blocked supplier.
+     */
+    private void stop() {
+        CompletionStage<?> stage = awaiting;
+        if (stage != null) {
+            cancel(stage);
+        }
+        if (blocking.compareAndSet(BLOCKING, INTERRUPTING)) {
+            runner.interrupt();
+            blocking.set(INTERRUPTED);
+        }
+    }
+
+    private static void cancel(CompletionStage<?> stage) {
+        if (stage instanceof Future<?> future) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Unwraps the completion wrappers added by CompletableFuture. Errors are wrapped so
+     * they travel through the loop's Exception channel.
+     */
+    static Exception asException(Throwable t) {
+        Throwable cause = t;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception e) {
+            return e;
+        }
+        return new JavaIO.IOExecutionException("Async computation failed", cause);
+    }
+
+    /**
+     * A resource acquired by a bracket, waiting to be released.
+     */
+    private static final class Finalizer {
+        private final Function<Object, ? extends JavaIO<?>> release;
+        private final Object resource;
+
+        Finalizer(Function<Object, ? extends JavaIO<?>> release, Object resource) {
+            this.release = release;
+            this.resource = resource;
+        }
+
+        JavaIO<?> release() {
+            return Objects.requireNonNull(release.apply(resource), "bracket release returned null");
+        }
+    }
+
+    /**
+     * How the body of a bracket ended, restored once its release has run.
+     */
+    private static final class Exit {
+        static final Exit CANCELED = new Exit(null, null);
+
+        final Object value;
+        final Exception error;
+
+        Exit(Object value, Exception error) {
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Completion callback for one async boundary. Whichever of "loop suspended" and
+     * "result arrived" happens second is responsible for continuing the loop.
+     */
+    private static final class AsyncCallback implements BiConsumer<Object, Throwable> {
+        private static final int WAITING = 0;
+        private static final int PARKED = 1;
+        private static final int DONE = 2;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final IORunLoop loop;
+        private final IOEvents.AsyncEvent event;
+        private Object value;
+        private Exception error;
+
+        AsyncCallback(IORunLoop loop, IOEvents.AsyncEvent event) {
+            this.loop = loop;
+            this.event = event;
+        }
+
+        boolean trySuspend() {
+            return state.compareAndSet(WAITING, PARKED);
+        }
+
+        @Override
+        public void accept(Object result, Throwable failure) {
+            if (state.get() == DONE) {
+                return;
+            }
+            value = result;
+            error = failure == null ? null : asException(failure);
+            IOEvents.asyncEnded(event, error);
+            if (!state.compareAndSet(WAITING, DONE) && state.compareAndSet(PARKED, DONE)) {
+                loop.awaiting = null;
+                loop.value = value;
+                loop.error = error;
+                loop.resume();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.brentzey.functional;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Default execution runtime for asynchronous {@link JavaIO} effects.
+ *
+ * <p>On JDK 21+ effects run on virtual threads, so a blocking {@code CheckedSupplier}
+ * parks a virtual thread rather than pinning a platform thread. On JDK 17 effects run on
+ * a dedicated daemon {@link ForkJoinPool} sized to the available processors; effects that
+ * block for long periods should be given their own executor there via
+ * {@link JavaIO#runAsync(Executor)} or the executor overload of {@link JavaIO#parTraverse}.
+ * Fibers run on the work-stealing {@link #scheduler()} instead.
+ *
+ * <p>Failures swallowed by {@link JavaIO#runToOptional()} go to {@link #errorReporter()}.
+ *
+ * <p>The executors are created when this class is first used, never at image build time
+ * (see the native-image properties).
+ */
+public final class IORuntime {
+
+    private static final FiberScheduler SCHEDULER = new FiberScheduler(Runtime.getRuntime().availableProcessors());
+    private static final ScheduledExecutorService TIMER = newTimer();
+    private static final Executor DEFAULT_EXECUTOR;
+    private static final boolean VIRTUAL_THREADS;
+
+    private static volatile ErrorReporter errorReporter = loadErrorReporter();
+
+    static {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        VIRTUAL_THREADS = virtual != null;
+        DEFAULT_EXECUTOR = VIRTUAL_THREADS ? virtual : newWorkerPool();
+    }
+
+    private IORuntime() {
+    }
+
+    /**
+     * The executor used by {@link JavaIO#toCompletableFuture()} and the parallel combinators.
+     */
+    public static Executor defaultExecutor() {
+        return DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * The work-stealing {@link FiberScheduler} used by {@link JavaIO#start()}, with one
+     * worker per available processor. Fibers hand their worker back every 1024 steps, so
+     * many more fibers than threads can make progress side by side.
+     */
+    public static Executor scheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * Shared single-thread timer behind {@link JavaIO#sleep(java.time.Duration)}. It only
+     * completes futures; the effects waiting on them resume on their own executor.
+     */
+    static ScheduledExecutorService timer() {
+        return TIMER;
+    }
+
+    /**
+     * The reporter for failures that {@link JavaIO#runToOptional()} and Kotlin's
+     * {@code IO.runToNullable()} swallow: the first {@link ErrorReporter} registered with
+     * {@link ServiceLoader}, or else an {@link AsyncErrorReporter#create() AsyncErrorReporter}
+     * writing to {@code System.err}.
+     */
+    public static ErrorReporter errorReporter() {
+        return errorReporter;
+    }
+
+    /**
+     * Replaces {@link #errorReporter()}. The previous reporter is not closed.
+     */
+    public static void setErrorReporter(ErrorReporter reporter) {
+        errorReporter = Objects.requireNonNull(reporter, "reporter");
+    }
+
+    private static ErrorReporter loadErrorReporter() {
+        return ServiceLoader.load(ErrorReporter.class, IORuntime.class.getClassLoader())
+            .findFirst()
+            .orElseGet(AsyncErrorReporter::create);
+    }
+
+    /**
+     * Whether {@link #defaultExecutor()} runs effects on virtual threads.
+     */
+    public static boolean usesVirtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} reflectively so the
+     * library still targets Java 17 bytecode.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class))
+                .invoke();
+        } catch (NoSuchMethodException | IllegalAccessException | UnsupportedOperationException e) {
+            return null;
+        } catch (Throwable e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static ScheduledExecutorService newTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "javaio-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static ForkJoinPool newWorkerPool() {
+        return new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("javaio-worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            true);
+    }
+}
@@ -0,0 +1,72 @@
+package com.brentzey.functional;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking counting semaphore. Acquiring returns a future instead of parking, so an
+ * effect waiting for a permit suspends without holding a thread.
+ *
+ * <p>A single counter tracks free permits; a negative count is the number of registered
+ * waiters. {@link #release()} hands its permit straight to the oldest waiter, skipping
+ * waiters whose future was cancelled.
+ */
+final class IOSemaphore {
+
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    private final AtomicInteger permits;
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+
+    IOSemaphore(int permits) {
+        this.permits = new AtomicInteger(permits);
+    }
+
+    /**
+     * Takes a permit. The returned future is already complete if one was free; otherwise
+     * it completes when a permit is handed over. Cancelling it gives up the place in line.
+     */
+    CompletableFuture<Void> acquire() {
+        if (permits.getAndDecrement() > 0) {
+            return ACQUIRED;
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Like {@link #acquire()}, but returns null instead of waiting if {@code maxWaiters}
+     * callers are already waiting.
+     */
+    CompletableFuture<Void> tryAcquire(int maxWaiters) {
+        int available;
+        do {
+            available = permits.get();
+            if (available <= -maxWaiters) {
+                return null;
+            }
+        } while (!permits.compareAndSet(available, available - 1));
+        if (available > 0) {
+            return ACQUIRED;
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    void release() {
+        while (permits.getAndIncrement() < 0) {
+            CompletableFuture<Void> waiter;
+            // The waiter decrements before it enqueues; wait out that short window.
+            while ((waiter = waiters.poll()) == null) {
+                Thread.onSpinWait();
+            }
+            if (waiter.complete(null)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.brentzey.functional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Lazy, pull-based stream of values produced by effects, emitted in {@link Chunk}s.
+ *
+ * <p>A stream is a description, like {@link JavaIO}: nothing runs until it is compiled
+ * with {@link #fold}, {@link #compile()} or {@link #drain()}, and each compilation runs
+ * it from the start. The consumer pulls one chunk at a time, so a producer never gets
+ * ahead of its consumer (backpressure comes for free) and {@link #take(long)} stops
+ * pulling as soon as it has enough.
+ *
+ * <p>Operators work a chunk at a time: {@code map} and {@code filter} are plain loops over
+ * an array, and the run loop is entered once per chunk rather than once per element.
+ *
+ * <pre>{@code
+ * JavaIO<Long> errors = IOStream.fromIterable(lines)
+ *     .filter(line -> line.contains("ERROR"))
+ *     .evalMap(line -> JavaIO.of(() -> store.save(line)))
+ *     .fold(0L, (count, saved) -> count + 1);
+ * }</pre>
+ */
+public final class IOStream<T> {
+
+    /**
+     * Chunk size used by {@link #fromIterable(Iterable)}.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private static final Step<?> DONE = new Step<>(Chunk.empty(), null);
+    private static final JavaIO<?> DONE_IO = JavaIO.pure(DONE);
+    private static final IOStream<?> EMPTY = new IOStream<>(doneIO());
+
+    /**
+     * Yields the next chunk together with the rest of the stream, or {@link #DONE}.
+     */
+    private final JavaIO<Step<T>> pull;
+
+    private IOStream(JavaIO<Step<T>> pull) {
+        this.pull = pull;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Step<T> done() {
+        return (Step<T>) DONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> JavaIO<Step<T>> doneIO() {
+        return (JavaIO<Step<T>>) DONE_IO;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IOStream<T> empty() {
+        return (IOStream<T>) EMPTY;
+    }
+
+    /**
+     * A stream of the given values, as one chunk.
+     */
+    @SafeVarargs
+    public static <T> IOStream<T> of(T... values) {
+        Object[] copy = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i];
+        }
+        return chunk(Chunk.wrap(copy, copy.length));
+    }
+
+    public static <T> IOStream<T> chunk(Chunk<T> chunk) {
+        return chunk.isEmpty() ? empty() : new IOStream<>(JavaIO.pure(new Step<>(chunk, empty())));
+    }
+
+    /**
+     * A single-value stream that runs {@code effect} when pulled.
+     */
+    public static <T> IOStream<T> eval(JavaIO<T> effect) {
+        return new IOStream<>(effect.map(value -> new Step<>(Chunk.single(value), empty())));
+    }
+
+    /**
+     * The values of {@code iterable}, in chunks of {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    public static <T> IOStream<T> fromIterable(Iterable<? extends T> iterable) {
+        return fromIterable(iterable, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * The values of {@code iterable}, in chunks of {@code chunkSize}. A fresh iterator is
+     * created each time the stream runs.
+     */
+    public static <T> IOStream<T> fromIterable(Iterable<? extends T> iterable, int chunkSize) {
+        Objects.requireNonNull(iterable, "iterable");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1, was " + chunkSize);
+        }
+        return new IOStream<>(JavaIO.of(iterable::iterator)
+            .flatMap(iterator -> IOStream.<T>fromIterator(iterator, chunkSize).pull));
+    }
+
+    private static <T> IOStream<T> fromIterator(Iterator<? extends T> iterator, int chunkSize) {
+        return new IOStream<>(JavaIO.of(() -> {
+            Object[] values = new Object[chunkSize];
+            int count = 0;
+            while (count < chunkSize && iterator.hasNext()) {
+                values[count++] = iterator.next();
+            }
+            if (count == 0) {
+                return IOStream.<T>done();
+            }
+            return new Step<T>(Chunk.wrap(values, count), fromIterator(iterator, chunkSize));
+        }));
+    }
+
+    /**
+     * A stream built by {@code stream} each time it runs, for sources that need fresh
+     * state (a cursor, an open file) per run.
+     */
+    static <T> IOStream<T> suspend(JavaIO<IOStream<T>> stream) {
+        return new IOStream<>(stream.flatMap(built -> built.pull));
+    }
+
+    /**
+     * A stream whose chunks are produced by {@code next}, called once per pull until it
+     * yields null. Sources with their own cursor (a file, a socket) build on this.
+     */
+    static <T> IOStream<T> unfoldChunks(JavaIO<Chunk<T>> next) {
+        return new IOStream<>(next.map(chunk -> chunk == null
+            ? IOStream.<T>done()
+            : new Step<>(chunk, unfoldChunks(next))));
+    }
+
+    public <R> IOStream<R> map(Function<T, R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return mapChunks(chunk -> chunk.map(mapper));
+    }
+
+    /**
+     * Transforms whole chunks at once, for operations that are cheaper on arrays.
+     */
+    public <R> IOStream<R> mapChunks(Function<Chunk<T>, Chunk<R>> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new IOStream<>(pull.map(step -> step == DONE
+            ? IOStream.<R>done()
+            : new Step<>(mapper.apply(step.chunk), step.rest.mapChunks(mapper))));
+    }
+
+    /**
+     * Keeps the values matching {@code predicate}. Chunks left empty are skipped.
+     */
+    public IOStream<T> filter(Predicate<T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new IOStream<>(pull.flatMap(step -> {
+            if (step == DONE) {
+                return doneIO();
+            }
+            Chunk<T> kept = step.chunk.filter(predicate);
+            IOStream<T> rest = step.rest.filter(predicate);
+            return kept.isEmpty() ? rest.pull : JavaIO.pure(new Step<>(kept, rest));
+        }));
+    }
+
+    /**
+     * Replaces every value with the stream {@code fn} returns for it, in order.
+     */
+    public <R> IOStream<R> flatMap(Function<T, IOStream<R>> fn) {
+        Objects.requireNonNull(fn, "fn");
+        return new IOStream<>(pull.flatMap(step -> step == DONE
+            ? IOStream.<R>doneIO()
+            : flatMapChunk(step.chunk, 0, fn).append(step.rest.flatMap(fn)).pull));
+    }
+
+    private static <T, R> IOStream<R> flatMapChunk(Chunk<T> chunk, int index, Function<T, IOStream<R>> fn) {
+        if (index == chunk.size()) {
+            return empty();
+        }
+        return new IOStream<>(JavaIO.of(() -> fn.apply(chunk.get(index)))
+            .flatMap(inner -> inner.append(flatMapChunk(chunk, index + 1, fn)).pull));
+    }
+
+    /**
+     * Runs {@code fn} for every value, one after another, and emits the results. Each
+     * chunk's effects are chained together before the chunk is emitted.
+     */
+    public <R> IOStream<R> evalMap(Function<T, JavaIO<R>> fn) {
+        Objects.requireNonNull(fn, "fn");
+        return new IOStream<>(pull.flatMap(step -> step == DONE
+            ? IOStream.<R>doneIO()
+            : evalChunk(step.chunk, fn, 0, new Object[step.chunk.size()])
+                .map(chunk -> new Step<>(chunk, step.rest.evalMap(fn)))));
+    }
+
+    private static <T, R> JavaIO<Chunk<R>> evalChunk(Chunk<T> chunk, Function<T, JavaIO<R>> fn,
+                                                     int index, Object[] out) {
+        if (index == chunk.size()) {
+            return JavaIO.pure(Chunk.wrap(out, out.length));
+        }
+        return fn.apply(chunk.get(index)).flatMap(result -> {
+            out[index] = result;
+            return evalChunk(chunk, fn, index + 1, out);
+        });
+    }
+
+    /**
+     * The first {@code n} values. Nothing past them is pulled from upstream.
+     */
+    public IOStream<T> take(long n) {
+        if (n <= 0) {
+            return empty();
+        }
+        return new IOStream<>(pull.map(step -> {
+            if (step == DONE) {
+                return IOStream.<T>done();
+            }
+            int size = step.chunk.size();
+            return size >= n
+                ? new Step<>(step.chunk.take((int) n), empty())
+                : new Step<>(step.chunk, step.rest.take(n - size));
+        }));
+    }
+
+    /**
+     * This stream followed by {@code next}.
+     */
+    public IOStream<T> append(IOStream<T> next) {
+        Objects.requireNonNull(next, "next");
+        return new IOStream<>(pull.flatMap(step -> step == DONE
+            ? next.pull
+            : JavaIO.pure(new Step<>(step.chunk, step.rest.append(next)))));
+    }
+
+    /**
+     * Runs the stream and folds its values, left to right, into a single result.
+     */
+    public <R> JavaIO<R> fold(R initial, BiFunction<R, ? super T, R> fn) {
+        Objects.requireNonNull(fn, "fn");
+        return foldChunks(initial, (acc, chunk) -> chunk.fold(acc, fn));
+    }
+
+    /**
+     * Runs the stream and collects its values into a list.
+     */
+    public JavaIO<List<T>> compile() {
+        return JavaIO.of(() -> new ArrayList<T>()).flatMap(buffer -> foldChunks(buffer, (list, chunk) -> {
+            chunk.addTo(list);
+            return list;
+        }));
+    }
+
+    /**
+     * Runs the stream for its effects and discards the values.
+     */
+    public JavaIO<Void> drain() {
+        return foldChunks(null, (ignored, chunk) -> null);
+    }
+
+    private <R> JavaIO<R> foldChunks(R acc, BiFunction<R, Chunk<T>, R> fn) {
+        return pull.flatMap(step -> step == DONE
+            ? JavaIO.pure(acc)
+            : step.rest.foldChunks(fn.apply(acc, step.chunk), fn));
+    }
+
+    private static final class Step<T> {
+        final Chunk<T> chunk;
+        final IOStream<T> rest;
+
+        Step(Chunk<T> chunk, IOStream<T> rest) {
+            this.chunk = chunk;
+            this.rest = rest;
+        }
+    }
+}
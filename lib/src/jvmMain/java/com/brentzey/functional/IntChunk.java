@@ -0,0 +1,126 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Immutable chunk of {@code int}s backed by an {@code int[]}. Unlike {@link Chunk}, its
+ * operations take primitive functional interfaces, so mapping and folding never box.
+ */
+public final class IntChunk {
+
+    private static final IntChunk EMPTY = new IntChunk(new int[0], 0, 0);
+
+    private final int[] values;
+    private final int offset;
+    private final int size;
+
+    private IntChunk(int[] values, int offset, int size) {
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Wraps {@code values} without copying. Callers must not modify the array afterwards.
+     */
+    static IntChunk wrap(int[] values, int size) {
+        return size == 0 ? EMPTY : new IntChunk(values, 0, size);
+    }
+
+    public static IntChunk empty() {
+        return EMPTY;
+    }
+
+    public static IntChunk of(int... values) {
+        return wrap(values.clone(), values.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        return values[offset + index];
+    }
+
+    public IntChunk map(IntUnaryOperator mapper) {
+        int[] out = new int[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = mapper.applyAsInt(values[offset + i]);
+        }
+        return wrap(out, size);
+    }
+
+    /**
+     * Keeps the values matching {@code predicate}. Returns this chunk if all of them match.
+     */
+    public IntChunk filter(IntPredicate predicate) {
+        int[] out = new int[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int value = values[offset + i];
+            if (predicate.test(value)) {
+                out[kept++] = value;
+            }
+        }
+        return kept == size ? this : wrap(out, kept);
+    }
+
+    public int fold(int initial, IntBinaryOperator fn) {
+        int acc = initial;
+        for (int i = 0; i < size; i++) {
+            acc = fn.applyAsInt(acc, values[offset + i]);
+        }
+        return acc;
+    }
+
+    /**
+     * The first {@code n} values, sharing this chunk's array.
+     */
+    public IntChunk take(int n) {
+        if (n >= size) {
+            return this;
+        }
+        return n <= 0 ? EMPTY : new IntChunk(values, offset, n);
+    }
+
+    /**
+     * All but the first {@code n} values, sharing this chunk's array.
+     */
+    public IntChunk drop(int n) {
+        if (n <= 0) {
+            return this;
+        }
+        return n >= size ? EMPTY : new IntChunk(values, offset + n, size - n);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + size);
+    }
+
+    /**
+     * The same values as a boxed {@link Chunk}, for handing to generic code.
+     */
+    public Chunk<Integer> boxed() {
+        Object[] out = new Object[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = values[offset + i];
+        }
+        return Chunk.wrap(out, size);
+    }
+
+    @Override
+    public String toString() {
+        return "IntChunk" + Arrays.toString(toArray());
+    }
+}
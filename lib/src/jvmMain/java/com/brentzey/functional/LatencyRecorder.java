@@ -0,0 +1,117 @@
+package com.brentzey.functional;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram for one name in {@link IOMetrics}.
+ *
+ * <p>Buckets are log-linear, as in HdrHistogram: values below 32ns get a bucket each, and
+ * every power of two above that is split into 32 buckets, so a recorded value is off by
+ * at most 1/32 (about 3%). Values are clamped at 2^41ns, about 36 minutes. That is 1184
+ * buckets in all.
+ *
+ * <p>Recording is one {@code getAndIncrement} on a bucket counter plus {@link LongAdder}
+ * updates, and allocates nothing once warmed up. The bucket counters are striped by
+ * thread so threads recording the same name at once rarely touch the same cache line; a
+ * snapshot adds the stripes up. There are at most eight stripes of about 9 KB each, and a
+ * stripe is only allocated when a thread first records into it, so a name recorded from
+ * one thread costs one stripe.
+ */
+final class LatencyRecorder {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final long MAX_VALUE = (1L << 41) - 1;
+    static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+    private static final int MAX_STRIPES = 8;
+    private static final int STRIPES = Math.min(MAX_STRIPES, Integer.highestOneBit(
+        Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+
+    private final String name;
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, boolean success) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        stripe().getAndIncrement(bucketOf(value));
+        totalNanos.add(value);
+        (success ? successes : failures).increment();
+    }
+
+    /**
+     * The calling thread's stripe, allocated by whichever thread first needs it.
+     */
+    private AtomicLongArray stripe() {
+        long id = Thread.currentThread().getId();
+        int index = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (STRIPES - 1);
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            AtomicLongArray created = new AtomicLongArray(BUCKETS);
+            stripe = stripes.compareAndExchange(index, null, created);
+            if (stripe == null) {
+                stripe = created;
+            }
+        }
+        return stripe;
+    }
+
+    /**
+     * How many stripes have been allocated so far.
+     */
+    int allocatedStripes() {
+        int allocated = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            if (stripes.get(i) != null) {
+                allocated++;
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * A consistent-enough copy of the counters: each counter is read atomically, but
+     * runs recorded while the snapshot is taken may be counted in some of them only.
+     */
+    LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int s = 0; s < STRIPES; s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return new LatencySnapshot(name, counts, successes.sum(), failures.sum(), totalNanos.sum());
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * The largest value that falls into {@code bucket}.
+     */
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
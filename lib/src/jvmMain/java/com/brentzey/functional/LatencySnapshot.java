@@ -0,0 +1,103 @@
+package com.brentzey.functional;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time copy of the latencies and outcomes recorded under one name by
+ * {@link JavaIO#named(String)}. Percentiles are accurate to about 3% (see
+ * {@link IOMetrics}).
+ */
+public final class LatencySnapshot {
+
+    private final String name;
+    private final long[] counts;
+    private final long count;
+    private final long successes;
+    private final long failures;
+    private final long totalNanos;
+
+    LatencySnapshot(String name, long[] counts, long successes, long failures, long totalNanos) {
+        this.name = name;
+        this.counts = counts;
+        this.successes = successes;
+        this.failures = failures;
+        this.totalNanos = totalNanos;
+        long sum = 0;
+        for (long c : counts) {
+            sum += c;
+        }
+        this.count = sum;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Number of runs in the histogram.
+     */
+    public long count() {
+        return count;
+    }
+
+    public long successes() {
+        return successes;
+    }
+
+    public long failures() {
+        return failures;
+    }
+
+    public Duration mean() {
+        return Duration.ofNanos(count == 0 ? 0 : totalNanos / count);
+    }
+
+    /**
+     * The latency that {@code percentile} percent of runs took at most, e.g. 99.9 for
+     * p999. Zero if nothing was recorded.
+     */
+    public Duration percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100, was " + percentile);
+        }
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(LatencyRecorder.highestValueIn(i));
+            }
+        }
+        return max();
+    }
+
+    public Duration p50() {
+        return percentile(50);
+    }
+
+    public Duration p99() {
+        return percentile(99);
+    }
+
+    public Duration p999() {
+        return percentile(99.9);
+    }
+
+    public Duration max() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return Duration.ofNanos(LatencyRecorder.highestValueIn(i));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{count=" + count + ", failures=" + failures + ", p50=" + p50()
+            + ", p99=" + p99() + ", p999=" + p999() + ", max=" + max() + "}";
+    }
+}
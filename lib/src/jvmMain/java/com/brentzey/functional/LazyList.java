@@ -0,0 +1,328 @@
+package com.brentzey.functional;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable list whose cells are computed on first access and then remembered, so it may
+ * be infinite and each value is computed at most once however often it is read.
+ *
+ * <pre>{@code
+ * LazyList<BigInteger> powers = LazyList.iterate(BigInteger.ONE, x -> x.shiftLeft(1));
+ * List<BigInteger> firstTen = powers.take(10).toList();   // computes ten cells
+ * }</pre>
+ *
+ * <p>A cell is computed by whichever thread reads it first, under a private
+ * {@link ReentrantLock} of that cell, so concurrent readers wait for one evaluation
+ * instead of repeating it, and a virtual thread waiting on or running a slow computation
+ * such as {@link #fromEffect} does not pin its carrier. As with
+ * {@link JavaIO#memoize()}, a failure is not remembered: the next read runs the
+ * computation again.
+ *
+ * <p>{@link #map}, {@link #filter} and the other operations return lazy lists too, each
+ * remembering its own cells. To run a chain of operations in one pass without keeping
+ * anything, use {@link #view()}. Like any memoized sequence, a lazy list keeps every cell
+ * computed from its head alive for as long as the head is reachable.
+ */
+public final class LazyList<T> implements Iterable<T> {
+
+    private static final Cell<?> END = new Cell<>(null, null);
+    private static final LazyList<?> EMPTY = new LazyList<>(END);
+
+    // A Pending computation of the list this one turns out to be, until forced; then its Cell.
+    private volatile Object state;
+
+    private LazyList(Object state) {
+        this.state = state;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> LazyList<T> empty() {
+        return (LazyList<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T> LazyList<T> of(T... values) {
+        PersistentVector.Transient<T> copy = PersistentVector.builder();
+        for (T value : values) {
+            copy.add(value);
+        }
+        return from(copy.persistent());
+    }
+
+    /**
+     * A list with {@code head} in front of the list {@code tail} returns when first needed.
+     */
+    public static <T> LazyList<T> cons(T head, Supplier<LazyList<T>> tail) {
+        return new LazyList<>(new Cell<>(head, defer(tail)));
+    }
+
+    /**
+     * The list {@code list} returns, called when a cell of it is first needed.
+     */
+    public static <T> LazyList<T> defer(Supplier<LazyList<T>> list) {
+        return new LazyList<>(new Pending<>(Objects.requireNonNull(list, "list")));
+    }
+
+    /**
+     * The values of {@code values}, pulled from one iterator as cells are needed.
+     */
+    public static <T> LazyList<T> from(Iterable<? extends T> values) {
+        if (values instanceof LazyList) {
+            @SuppressWarnings("unchecked")
+            LazyList<T> list = (LazyList<T>) values;
+            return list;
+        }
+        return defer(() -> fromIterator(values.iterator()));
+    }
+
+    /**
+     * The infinite list {@code seed}, {@code next(seed)}, {@code next(next(seed))}, ...
+     */
+    public static <T> LazyList<T> iterate(T seed, UnaryOperator<T> next) {
+        return cons(seed, () -> iterate(next.apply(seed), next));
+    }
+
+    /**
+     * The values {@code next} produces, one run per cell, until it produces an empty
+     * {@link Optional}. Each run happens when its cell is first needed.
+     */
+    public static <T> LazyList<T> fromEffect(JavaIO<Optional<T>> next) {
+        return defer(() -> next.unsafeRunSync()
+            .map(value -> cons(value, () -> fromEffect(next)))
+            .orElseGet(LazyList::empty));
+    }
+
+    private static <T> LazyList<T> fromIterator(Iterator<? extends T> iterator) {
+        return iterator.hasNext() ? cons(iterator.next(), () -> fromIterator(iterator)) : empty();
+    }
+
+    public boolean isEmpty() {
+        return force() == END;
+    }
+
+    /**
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T head() {
+        return nonEmpty().head;
+    }
+
+    /**
+     * @throws NoSuchElementException if the list is empty
+     */
+    public LazyList<T> tail() {
+        return nonEmpty().tail;
+    }
+
+    public <R> LazyList<R> map(Function<? super T, ? extends R> fn) {
+        return defer(() -> {
+            Cell<T> cell = force();
+            return cell == END ? empty() : cons(fn.apply(cell.head), () -> cell.tail.map(fn));
+        });
+    }
+
+    public LazyList<T> filter(Predicate<? super T> predicate) {
+        return defer(() -> {
+            Cell<T> cell = force();
+            while (cell != END && !predicate.test(cell.head)) {
+                cell = cell.tail.force();
+            }
+            Cell<T> found = cell;
+            return found == END ? empty() : cons(found.head, () -> found.tail.filter(predicate));
+        });
+    }
+
+    public <R> LazyList<R> flatMap(Function<? super T, LazyList<R>> fn) {
+        return defer(() -> {
+            Cell<T> cell = force();
+            while (cell != END) {
+                Cell<R> inner = fn.apply(cell.head).force();
+                if (inner != END) {
+                    LazyList<T> rest = cell.tail;
+                    return cons(inner.head, () -> inner.tail.concat(() -> rest.flatMap(fn)));
+                }
+                cell = cell.tail.force();
+            }
+            return empty();
+        });
+    }
+
+    /**
+     * The first {@code n} values. Reading past them computes nothing more of this list.
+     */
+    public LazyList<T> take(long n) {
+        if (n <= 0) {
+            return empty();
+        }
+        return defer(() -> {
+            Cell<T> cell = force();
+            if (cell == END) {
+                return empty();
+            }
+            return cons(cell.head, n == 1 ? LazyList::empty : () -> cell.tail.take(n - 1));
+        });
+    }
+
+    public LazyList<T> drop(long n) {
+        return defer(() -> {
+            LazyList<T> rest = this;
+            for (long i = 0; i < n && !rest.isEmpty(); i++) {
+                rest = rest.tail();
+            }
+            return rest;
+        });
+    }
+
+    public LazyList<T> takeWhile(Predicate<? super T> predicate) {
+        return defer(() -> {
+            Cell<T> cell = force();
+            if (cell == END || !predicate.test(cell.head)) {
+                return empty();
+            }
+            return cons(cell.head, () -> cell.tail.takeWhile(predicate));
+        });
+    }
+
+    /**
+     * This list followed by {@code next}.
+     */
+    public LazyList<T> concat(LazyList<T> next) {
+        return concat(() -> next);
+    }
+
+    private LazyList<T> concat(Supplier<LazyList<T>> next) {
+        return defer(() -> {
+            Cell<T> cell = force();
+            return cell == END ? next.get() : cons(cell.head, () -> cell.tail.concat(next));
+        });
+    }
+
+    /**
+     * A non-memoizing view over this list, whose operations run fused in one pass.
+     */
+    public LazyView<T> view() {
+        return LazyView.of(this);
+    }
+
+    /**
+     * Folds every value into {@code initial}. Does not return on an infinite list.
+     */
+    public <R> R fold(R initial, BiFunction<R, ? super T, R> fn) {
+        R acc = initial;
+        for (Cell<T> cell = force(); cell != END; cell = cell.tail.force()) {
+            acc = fn.apply(acc, cell.head);
+        }
+        return acc;
+    }
+
+    /**
+     * Every value, as a read-only list. Does not return on an infinite list.
+     */
+    public List<T> toList() {
+        PersistentVector.Transient<T> values = PersistentVector.builder();
+        for (Cell<T> cell = force(); cell != END; cell = cell.tail.force()) {
+            values.add(cell.head);
+        }
+        return values.persistent();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private LazyList<T> rest = LazyList.this;
+
+            @Override
+            public boolean hasNext() {
+                return !rest.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Cell<T> cell = rest.nonEmpty();
+                rest = cell.tail;
+                return cell.head;
+            }
+        };
+    }
+
+    /**
+     * The values computed so far, without computing more.
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("LazyList(");
+        Object current = state;
+        String separator = "";
+        while (current instanceof Cell<?> cell && cell != END) {
+            out.append(separator).append(cell.head);
+            separator = ", ";
+            current = cell.tail.state;
+        }
+        return out.append(current == END ? "" : separator + "<not computed>").append(')').toString();
+    }
+
+    private Cell<T> nonEmpty() {
+        Cell<T> cell = force();
+        if (cell == END) {
+            throw new NoSuchElementException("empty LazyList");
+        }
+        return cell;
+    }
+
+    /**
+     * This list's first cell, computing it if no one has yet. The thread that gets the
+     * lock first runs the supplier; the others wait and read its result.
+     */
+    @SuppressWarnings("unchecked")
+    private Cell<T> force() {
+        Object current = state;
+        if (current instanceof Cell) {
+            return (Cell<T>) current;
+        }
+        Pending<T> pending = (Pending<T>) current;
+        pending.lock.lock();
+        try {
+            current = state;
+            if (!(current instanceof Cell)) {
+                current = pending.list.get().force();
+                state = current;
+            }
+        } finally {
+            pending.lock.unlock();
+        }
+        return (Cell<T>) current;
+    }
+
+    /**
+     * A cell not computed yet: the supplier of the list it turns out to be, and the lock
+     * its first readers take turns on.
+     */
+    private static final class Pending<T> {
+        final Supplier<LazyList<T>> list;
+        final ReentrantLock lock = new ReentrantLock();
+
+        Pending(Supplier<LazyList<T>> list) {
+            this.list = list;
+        }
+    }
+
+    private static final class Cell<T> {
+        final T head;
+        final LazyList<T> tail;
+
+        Cell(T head, LazyList<T> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+    }
+}
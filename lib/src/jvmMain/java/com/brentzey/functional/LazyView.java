@@ -0,0 +1,285 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lazy, non-memoizing view over a source of values: operations only record a step, and
+ * each traversal runs every step for one value before pulling the next.
+ *
+ * <pre>{@code
+ * List<String> ids = LazyView.of(orders)
+ *     .filter(Order::isOpen)
+ *     .map(Order::id)
+ *     .take(100)
+ *     .toList();   // one pass, stops after the 100th match, no intermediate lists
+ * }</pre>
+ *
+ * <p>Consecutive maps are fused into one function the way {@link JavaIO#map} fuses them,
+ * and {@code take} and {@code takeWhile} stop pulling from the source as soon as they are
+ * satisfied, so a view over an infinite source is fine as long as it is cut short. Nothing
+ * is remembered: every traversal reads the source again and reruns the steps. Use
+ * {@link #toLazyList()} to compute each value once.
+ *
+ * <p>Views are immutable and may be shared; every traversal keeps its own counters.
+ */
+public final class LazyView<T> implements Iterable<T> {
+
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int TAKE = 2;
+    private static final int DROP = 3;
+    private static final int TAKE_WHILE = 4;
+
+    private static final Stage[] NO_STAGES = new Stage[0];
+    // Returned by a pass for a value some step discarded.
+    private static final Object SKIP = new Object();
+
+    private final Iterable<?> source;
+    private final Stage[] stages;
+
+    private LazyView(Iterable<?> source, Stage[] stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    public static <T> LazyView<T> of(Iterable<? extends T> source) {
+        return new LazyView<>(Objects.requireNonNull(source, "source"), NO_STAGES);
+    }
+
+    @SafeVarargs
+    public static <T> LazyView<T> of(T... values) {
+        PersistentVector.Transient<T> copy = PersistentVector.builder();
+        for (T value : values) {
+            copy.add(value);
+        }
+        return of(copy.persistent());
+    }
+
+    /**
+     * The infinite view {@code seed}, {@code next(seed)}, {@code next(next(seed))}, ...,
+     * recomputed on every traversal.
+     */
+    public static <T> LazyView<T> iterate(T seed, UnaryOperator<T> next) {
+        return of(() -> new Iterator<T>() {
+            private T current = seed;
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (started) {
+                    current = next.apply(current);
+                }
+                started = true;
+                return current;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> LazyView<R> map(Function<? super T, ? extends R> fn) {
+        Function<Object, Object> function = (Function<Object, Object>) fn;
+        int last = stages.length - 1;
+        if (last >= 0 && stages[last].kind == MAP) {
+            Function<Object, Object> fused = IOFusion.andThen(stages[last].function, function);
+            if (fused != null) {
+                Stage[] replaced = stages.clone();
+                replaced[last] = new Stage(MAP, fused, null, 0);
+                return new LazyView<>(source, replaced);
+            }
+        }
+        return then(new Stage(MAP, function, null, 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    public LazyView<T> filter(Predicate<? super T> predicate) {
+        return then(new Stage(FILTER, null, (Predicate<Object>) predicate, 0));
+    }
+
+    public LazyView<T> take(long n) {
+        return then(new Stage(TAKE, null, null, Math.max(0, n)));
+    }
+
+    public LazyView<T> drop(long n) {
+        return n <= 0 ? this : then(new Stage(DROP, null, null, n));
+    }
+
+    @SuppressWarnings("unchecked")
+    public LazyView<T> takeWhile(Predicate<? super T> predicate) {
+        return then(new Stage(TAKE_WHILE, null, (Predicate<Object>) predicate, 0));
+    }
+
+    /**
+     * Runs one pass, handing every value to {@code action}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Pass pass = new Pass(stages);
+        for (Iterator<?> values = source.iterator(); !pass.done && values.hasNext(); ) {
+            Object value = pass.apply(values.next());
+            if (value != SKIP) {
+                action.accept((T) value);
+            }
+        }
+    }
+
+    public <R> R fold(R initial, BiFunction<R, ? super T, R> fn) {
+        Object[] acc = {initial};
+        forEach(value -> acc[0] = fn.apply(castAcc(acc[0]), value));
+        return castAcc(acc[0]);
+    }
+
+    public long count() {
+        long[] count = {0};
+        forEach(value -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Runs one pass and returns the values as a read-only list.
+     */
+    public List<T> toList() {
+        PersistentVector.Transient<T> values = PersistentVector.builder();
+        forEach(values::add);
+        return values.persistent();
+    }
+
+    /**
+     * A memoizing list of this view's values, computed one pass step at a time as its cells
+     * are read.
+     */
+    public LazyList<T> toLazyList() {
+        return LazyList.from(this);
+    }
+
+    /**
+     * This view as an {@link IOStream}, traversed again each time the stream runs.
+     */
+    public IOStream<T> toStream() {
+        return IOStream.fromIterable(this);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<?> values = source.iterator();
+        Pass pass = new Pass(stages);
+        return new Iterator<>() {
+            private Object next = SKIP;
+
+            @Override
+            public boolean hasNext() {
+                while (next == SKIP && !pass.done && values.hasNext()) {
+                    next = pass.apply(values.next());
+                }
+                return next != SKIP;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object value = next;
+                next = SKIP;
+                return (T) value;
+            }
+        };
+    }
+
+    private <R> LazyView<R> then(Stage stage) {
+        Stage[] extended = Arrays.copyOf(stages, stages.length + 1);
+        extended[stages.length] = stage;
+        return new LazyView<>(source, extended);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R castAcc(Object acc) {
+        return (R) acc;
+    }
+
+    private static final class Stage {
+        final int kind;
+        final Function<Object, Object> function;
+        final Predicate<Object> predicate;
+        final long limit;
+
+        Stage(int kind, Function<Object, Object> function, Predicate<Object> predicate, long limit) {
+            this.kind = kind;
+            this.function = function;
+            this.predicate = predicate;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * One traversal: the steps' counters, and whether a take has had all it wants.
+     */
+    private static final class Pass {
+        private final Stage[] stages;
+        private final long[] counts;
+        boolean done;
+
+        Pass(Stage[] stages) {
+            this.stages = stages;
+            this.counts = new long[stages.length];
+            for (Stage stage : stages) {
+                if (stage.kind == TAKE && stage.limit == 0) {
+                    done = true;
+                }
+            }
+        }
+
+        /**
+         * Runs {@code value} through every step, returning what comes out or {@link #SKIP}.
+         */
+        Object apply(Object value) {
+            Object current = value;
+            for (int i = 0; i < stages.length; i++) {
+                Stage stage = stages[i];
+                switch (stage.kind) {
+                    case MAP -> current = stage.function.apply(current);
+                    case FILTER -> {
+                        if (!stage.predicate.test(current)) {
+                            return SKIP;
+                        }
+                    }
+                    case TAKE -> {
+                        // The value that reaches the limit still passes; none are pulled after it.
+                        if (++counts[i] >= stage.limit) {
+                            done = true;
+                        }
+                    }
+                    case DROP -> {
+                        if (counts[i] < stage.limit) {
+                            counts[i]++;
+                            return SKIP;
+                        }
+                    }
+                    case TAKE_WHILE -> {
+                        if (!stage.predicate.test(current)) {
+                            done = true;
+                            return SKIP;
+                        }
+                    }
+                    default -> throw new IllegalStateException("Unknown stage " + stage.kind);
+                }
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.brentzey.functional;
+
+import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Immutable chunk of {@code long}s backed by a {@code long[]}. Unlike {@link Chunk},
+ * its operations take primitive functional interfaces, so mapping and folding never box.
+ */
+public final class LongChunk {
+
+    private static final LongChunk EMPTY = new LongChunk(new long[0], 0, 0);
+
+    private final long[] values;
+    private final int offset;
+    private final int size;
+
+    private LongChunk(long[] values, int offset, int size) {
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Wraps {@code values} without copying. Callers must not modify the array afterwards.
+     */
+    static LongChunk wrap(long[] values, int size) {
+        return size == 0 ? EMPTY : new LongChunk(values, 0, size);
+    }
+
+    public static LongChunk empty() {
+        return EMPTY;
+    }
+
+    public static LongChunk of(long... values) {
+        return wrap(values.clone(), values.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        return values[offset + index];
+    }
+
+    public LongChunk map(LongUnaryOperator mapper) {
+        long[] out = new long[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = mapper.applyAsLong(values[offset + i]);
+        }
+        return wrap(out, size);
+    }
+
+    /**
+     * Keeps the values matching {@code predicate}. Returns this chunk if all of them match.
+     */
+    public LongChunk filter(LongPredicate predicate) {
+        long[] out = new long[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            long value = values[offset + i];
+            if (predicate.test(value)) {
+                out[kept++] = value;
+            }
+        }
+        return kept == size ? this : wrap(out, kept);
+    }
+
+    public long fold(long initial, LongBinaryOperator fn) {
+        long acc = initial;
+        for (int i = 0; i < size; i++) {
+            acc = fn.applyAsLong(acc, values[offset + i]);
+        }
+        return acc;
+    }
+
+    /**
+     * The first {@code n} values, sharing this chunk's array.
+     */
+    public LongChunk take(int n) {
+        if (n >= size) {
+            return this;
+        }
+        return n <= 0 ? EMPTY : new LongChunk(values, offset, n);
+    }
+
+    /**
+     * All but the first {@code n} values, sharing this chunk's array.
+     */
+    public LongChunk drop(int n) {
+        if (n <= 0) {
+            return this;
+        }
+        return n >= size ? EMPTY : new LongChunk(values, offset + n, size - n);
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + size);
+    }
+
+    /**
+     * The same values as a boxed {@link Chunk}, for handing to generic code.
+     */
+    public Chunk<Long> boxed() {
+        Object[] out = new Object[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = values[offset + i];
+        }
+        return Chunk.wrap(out, size);
+    }
+
+    @Override
+    public String toString() {
+        return "LongChunk" + Arrays.toString(toArray());
+    }
+}
@@ -4,8 +4,20 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
 
 public class OptionalUtils {
@@ -39,7 +51,12 @@ public class OptionalUtils {
      */
     public static <T> Optional<List<T>> sequence(Collection<Optional<T>> optionals) {
         List<T> result = new ArrayList<>(optionals.size());
-        optionals.forEach(opt -> opt.ifPresent(result::add));
+        for (Optional<T> opt : optionals) {
+            if (opt.isEmpty()) {
+                return Optional.empty();
+            }
+            result.add(opt.get());
+        }
         return Optional.of(result);
     }
 
@@ -52,6 +69,103 @@ public class OptionalUtils {
         return opt.map(ifPresent).orElseGet(ifEmpty);
     }
 
+    // Primitive overloads: same semantics as above, but values stay unboxed throughout.
+
+    /**
+     * Combines two OptionalInts without boxing. The operator is only applied if BOTH are present.
+     */
+    public static OptionalInt zip(OptionalInt oa, OptionalInt ob, IntBinaryOperator combiner) {
+        return oa.isPresent() && ob.isPresent()
+            ? OptionalInt.of(combiner.applyAsInt(oa.getAsInt(), ob.getAsInt()))
+            : OptionalInt.empty();
+    }
+
+    /**
+     * Combines two OptionalLongs without boxing. The operator is only applied if BOTH are present.
+     */
+    public static OptionalLong zip(OptionalLong oa, OptionalLong ob, LongBinaryOperator combiner) {
+        return oa.isPresent() && ob.isPresent()
+            ? OptionalLong.of(combiner.applyAsLong(oa.getAsLong(), ob.getAsLong()))
+            : OptionalLong.empty();
+    }
+
+    /**
+     * Combines two OptionalDoubles without boxing. The operator is only applied if BOTH are present.
+     */
+    public static OptionalDouble zip(OptionalDouble oa, OptionalDouble ob, DoubleBinaryOperator combiner) {
+        return oa.isPresent() && ob.isPresent()
+            ? OptionalDouble.of(combiner.applyAsDouble(oa.getAsDouble(), ob.getAsDouble()))
+            : OptionalDouble.empty();
+    }
+
+    /**
+     * Converts OptionalInts into an optional int[]. If ANY element is empty, the whole
+     * result is Empty. (Named apart from {@link #sequence} because the overloads would
+     * erase to the same signature.)
+     */
+    public static Optional<int[]> sequenceInt(Collection<OptionalInt> optionals) {
+        int[] result = new int[optionals.size()];
+        int i = 0;
+        for (OptionalInt opt : optionals) {
+            if (opt.isEmpty()) {
+                return Optional.empty();
+            }
+            result[i++] = opt.getAsInt();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Converts OptionalLongs into an optional long[]. If ANY element is empty, the whole result is Empty.
+     */
+    public static Optional<long[]> sequenceLong(Collection<OptionalLong> optionals) {
+        long[] result = new long[optionals.size()];
+        int i = 0;
+        for (OptionalLong opt : optionals) {
+            if (opt.isEmpty()) {
+                return Optional.empty();
+            }
+            result[i++] = opt.getAsLong();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Converts OptionalDoubles into an optional double[]. If ANY element is empty, the whole result is Empty.
+     */
+    public static Optional<double[]> sequenceDouble(Collection<OptionalDouble> optionals) {
+        double[] result = new double[optionals.size()];
+        int i = 0;
+        for (OptionalDouble opt : optionals) {
+            if (opt.isEmpty()) {
+                return Optional.empty();
+            }
+            result[i++] = opt.getAsDouble();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Functional "if-else" over an OptionalInt that never boxes.
+     */
+    public static int fold(OptionalInt opt, IntSupplier ifEmpty, IntUnaryOperator ifPresent) {
+        return opt.isPresent() ? ifPresent.applyAsInt(opt.getAsInt()) : ifEmpty.getAsInt();
+    }
+
+    /**
+     * Functional "if-else" over an OptionalLong that never boxes.
+     */
+    public static long fold(OptionalLong opt, LongSupplier ifEmpty, LongUnaryOperator ifPresent) {
+        return opt.isPresent() ? ifPresent.applyAsLong(opt.getAsLong()) : ifEmpty.getAsLong();
+    }
+
+    /**
+     * Functional "if-else" over an OptionalDouble that never boxes.
+     */
+    public static double fold(OptionalDouble opt, DoubleSupplier ifEmpty, DoubleUnaryOperator ifPresent) {
+        return opt.isPresent() ? ifPresent.applyAsDouble(opt.getAsDouble()) : ifEmpty.getAsDouble();
+    }
+
     @FunctionalInterface
     public interface TriFunction<A, B, C, R> {
         R apply(A a, B b, C c);
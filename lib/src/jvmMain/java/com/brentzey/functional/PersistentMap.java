@@ -0,0 +1,583 @@
+package com.brentzey.functional;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable map whose updates share structure with the map they came from, so
+ * {@link #plus(Object, Object)} and {@link #minus(Object)} copy a few small nodes instead of
+ * every entry. Handing out a new snapshot of a 100,000-entry configuration map costs about
+ * as much as changing four or five of its entries.
+ *
+ * <pre>{@code
+ * PersistentMap<String, String> config = PersistentMap.from(defaults);
+ * PersistentMap<String, String> next = config.plus("timeout", "5s");   // config is unchanged
+ * }</pre>
+ *
+ * <p>This is a hash array mapped trie: each node covers five bits of the key's hash and
+ * keeps only the slots in use, located through a 32-bit bitmap. A lookup visits
+ * log<sub>32</sub>(n) nodes. Keys whose hashes are fully equal share a collision node.
+ *
+ * <p>For bulk changes use a {@link Transient} from {@link #builder()} or
+ * {@link #toTransient()}. Like {@link Map#of}, keys and values must not be null, and the
+ * mutating methods of {@link Map} throw {@link UnsupportedOperationException}. Kotlin
+ * callers get {@code map - key} from {@link #minus(Object)}.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // Seven bitmap levels use up a 32-bit hash; a collision node may sit below them.
+    private static final int MAX_DEPTH = 8;
+
+    private static final Node EMPTY_NODE = new BitmapNode(null, 0, new Object[0]);
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(0, EMPTY_NODE);
+
+    private final int size;
+    private final Node root;
+
+    private PersistentMap(int size, Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentMap<K, V> of(K key, V value) {
+        return PersistentMap.<K, V>empty().plus(key, value);
+    }
+
+    /**
+     * A map holding the entries of {@code map}, or {@code map} itself if it is already a
+     * persistent map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> from(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentMap) {
+            return (PersistentMap<K, V>) map;
+        }
+        return PersistentMap.<K, V>builder().putAll(map).persistent();
+    }
+
+    /**
+     * An empty transient to fill with {@link Transient#put(Object, Object)}.
+     */
+    public static <K, V> Transient<K, V> builder() {
+        return PersistentMap.<K, V>empty().toTransient();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return key == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * This map with {@code key} mapped to {@code value}, or this map if it already is.
+     */
+    public PersistentMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        Change change = new Change();
+        Node newRoot = root.assoc(null, 0, hash(key), key, value, change);
+        return newRoot == root ? this : new PersistentMap<>(change.sized ? size + 1 : size, newRoot);
+    }
+
+    /**
+     * This map with every entry of {@code entries} added.
+     */
+    public PersistentMap<K, V> plusAll(Map<? extends K, ? extends V> entries) {
+        return toTransient().putAll(entries).persistent();
+    }
+
+    /**
+     * This map without {@code key}, or this map if it has no such key.
+     */
+    public PersistentMap<K, V> minus(Object key) {
+        if (key == null) {
+            return this;
+        }
+        Change change = new Change();
+        Node newRoot = root.without(null, 0, hash(key), key, change);
+        if (!change.sized) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentMap<>(size - 1, newRoot);
+    }
+
+    /**
+     * A transient starting out with this map's entries. This map is not affected by
+     * anything done to it.
+     */
+    public Transient<K, V> toTransient() {
+        return new Transient<>(size, root);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action, "action");
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Entry<?, ?> entry)) {
+                    return false;
+                }
+                Object value = get(entry.getKey());
+                return value != null && value.equals(entry.getValue());
+            }
+        };
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Whether an update changed the number of entries: set when an assoc adds a key or a
+     * without removes one.
+     */
+    private static final class Change {
+        boolean sized;
+    }
+
+    /**
+     * A trie node. Entries are stored as key/value pairs in {@code array}; in a bitmap node
+     * a pair with a null key holds a child node in place of the value. {@code edit} is the
+     * token of the transient that created the node, if any; a transient changes only nodes
+     * carrying its own token.
+     */
+    private abstract static class Node {
+        final Object edit;
+        Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        abstract int pairs();
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(Object edit, int shift, int hash, Object key, Object value, Change change);
+
+        /**
+         * This node without {@code key}, or null if that leaves it empty.
+         */
+        abstract Node without(Object edit, int shift, int hash, Object key, Change change);
+
+        final boolean ownedBy(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        final void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0, n = 2 * pairs(); i < n; i += 2) {
+                Object key = array[i];
+                if (key != null) {
+                    action.accept(key, array[i + 1]);
+                } else {
+                    ((Node) array[i + 1]).forEach(action);
+                }
+            }
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        int bitmap;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        int pairs() {
+            return Integer.bitCount(bitmap);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? array[i + 1] : null;
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            int bit = bit(hash, shift);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                change.sized = true;
+                Object[] grown = new Object[array.length + 2];
+                System.arraycopy(array, 0, grown, 0, i);
+                grown[i] = key;
+                grown[i + 1] = value;
+                System.arraycopy(array, i, grown, i + 2, array.length - i);
+                return update(edit, bitmap | bit, grown);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = (Node) v;
+                Node updated = child.assoc(edit, shift + BITS, hash, key, value, change);
+                return updated == child ? this : set(edit, i, null, updated);
+            }
+            if (key.equals(k)) {
+                return v == value ? this : set(edit, i, k, value);
+            }
+            change.sized = true;
+            return set(edit, i, null, pair(edit, shift + BITS, k, v, hash, key, value));
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, Change change) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = (Node) array[i + 1];
+                Node updated = child.without(edit, shift + BITS, hash, key, change);
+                if (updated == null) {
+                    return remove(edit, bit, i);
+                }
+                if (updated.pairs() == 1 && updated.array[0] != null) {
+                    // A lone entry moves up, so a trie shrinks back as entries leave.
+                    return set(edit, i, updated.array[0], updated.array[1]);
+                }
+                return updated == child ? this : set(edit, i, null, updated);
+            }
+            if (!key.equals(k)) {
+                return this;
+            }
+            change.sized = true;
+            return remove(edit, bit, i);
+        }
+
+        private Node remove(Object edit, int bit, int i) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+            return update(edit, bitmap & ~bit, shrunk);
+        }
+
+        private Node set(Object edit, int i, Object key, Object value) {
+            if (ownedBy(edit)) {
+                array[i] = key;
+                array[i + 1] = value;
+                return this;
+            }
+            Object[] copy = array.clone();
+            copy[i] = key;
+            copy[i + 1] = value;
+            return new BitmapNode(edit, bitmap, copy);
+        }
+
+        private Node update(Object edit, int newBitmap, Object[] newArray) {
+            if (ownedBy(edit)) {
+                bitmap = newBitmap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(edit, newBitmap, newArray);
+        }
+
+        /**
+         * The smallest subtree holding both entries, which differ in their keys and must
+         * already share the hash bits above {@code shift}.
+         */
+        private static Node pair(Object edit, int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) {
+                return new CollisionNode(edit, h1, new Object[] {k1, v1, k2, v2});
+            }
+            int b1 = bit(h1, shift);
+            int b2 = bit(h2, shift);
+            if (b1 == b2) {
+                return new BitmapNode(edit, b1, new Object[] {null, pair(edit, shift + BITS, k1, v1, h2, k2, v2)});
+            }
+            Object[] array = Integer.compareUnsigned(b1, b2) < 0
+                ? new Object[] {k1, v1, k2, v2}
+                : new Object[] {k2, v2, k1, v1};
+            return new BitmapNode(edit, b1 | b2, array);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        @Override
+        int pairs() {
+            return array.length / 2;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int i = indexOf(key);
+            return i < 0 ? null : array[i + 1];
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash) {
+                // Hashes part ways at this level: put this node below a bitmap node and retry.
+                Node parent = new BitmapNode(edit, bit(this.hash, shift), new Object[] {null, this});
+                return parent.assoc(edit, shift, hash, key, value, change);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                if (ownedBy(edit)) {
+                    array[i + 1] = value;
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(edit, hash, copy);
+            }
+            change.sized = true;
+            Object[] grown = Arrays.copyOf(array, array.length + 2);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            if (ownedBy(edit)) {
+                array = grown;
+                return this;
+            }
+            return new CollisionNode(edit, hash, grown);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, Change change) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if (i < 0) {
+                return this;
+            }
+            change.sized = true;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+            if (ownedBy(edit)) {
+                array = shrunk;
+                return this;
+            }
+            return new CollisionNode(edit, hash, shrunk);
+        }
+    }
+
+    /**
+     * Depth-first walk over the trie with an explicit stack of nodes and positions.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Node[] nodes = new Node[MAX_DEPTH];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth;
+        private Object nextKey;
+        private Object nextValue;
+
+        EntryIterator(Node root) {
+            nodes[0] = root;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (nextKey == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = new SimpleImmutableEntry<>((K) nextKey, (V) nextValue);
+            advance();
+            return entry;
+        }
+
+        private void advance() {
+            while (depth >= 0) {
+                Node node = nodes[depth];
+                int position = positions[depth];
+                if (position < node.pairs()) {
+                    positions[depth] = position + 1;
+                    Object key = node.array[2 * position];
+                    Object value = node.array[2 * position + 1];
+                    if (key != null) {
+                        nextKey = key;
+                        nextValue = value;
+                        return;
+                    }
+                    depth++;
+                    nodes[depth] = (Node) value;
+                    positions[depth] = 0;
+                } else {
+                    nodes[depth] = null;
+                    depth--;
+                }
+            }
+            nextKey = null;
+            nextValue = null;
+        }
+    }
+
+    /**
+     * A mutable, single-threaded builder over a map's trie. It copies a node the first time
+     * it changes it and updates the copy in place afterwards. {@link #persistent()} hands
+     * the trie over as a map; the transient cannot be used after that.
+     */
+    public static final class Transient<K, V> {
+        private final Change change = new Change();
+        private Object edit = new Object();
+        private int size;
+        private Node root;
+
+        private Transient(int size, Node root) {
+            this.size = size;
+            this.root = root;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            ensureEditable();
+            return key == null ? null : (V) root.find(0, hash(key), key);
+        }
+
+        public Transient<K, V> put(K key, V value) {
+            ensureEditable();
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+            change.sized = false;
+            root = root.assoc(edit, 0, hash(key), key, value, change);
+            if (change.sized) {
+                size++;
+            }
+            return this;
+        }
+
+        public Transient<K, V> putAll(Map<? extends K, ? extends V> entries) {
+            entries.forEach(this::put);
+            return this;
+        }
+
+        public Transient<K, V> remove(Object key) {
+            ensureEditable();
+            if (key == null) {
+                return this;
+            }
+            change.sized = false;
+            Node updated = root.without(edit, 0, hash(key), key, change);
+            if (change.sized) {
+                size--;
+                root = updated == null ? EMPTY_NODE : updated;
+            }
+            return this;
+        }
+
+        /**
+         * The entries put so far, as a map.
+         *
+         * @throws IllegalStateException if called twice
+         */
+        public PersistentMap<K, V> persistent() {
+            ensureEditable();
+            edit = null;
+            return size == 0 ? empty() : new PersistentMap<>(size, root);
+        }
+
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException("Transient used after persistent()");
+            }
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.brentzey.functional;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list whose updates share structure with the list they came from, so
+ * {@link #plus(Object)}, {@link #with(int, Object)} and {@link #pop()} copy a handful of
+ * 32-slot arrays instead of the whole list.
+ *
+ * <pre>{@code
+ * PersistentVector<String> names = PersistentVector.of("ada", "grace");
+ * PersistentVector<String> more = names.plus("barbara");   // names is unchanged
+ * }</pre>
+ *
+ * <p>Values live in a tree of 32-wide nodes, so a lookup or update visits
+ * log<sub>32</sub>(n) nodes, at most seven for any int-sized list. The last, partly filled
+ * leaf is kept aside as the tail, so appending usually copies just that one small array.
+ *
+ * <p>For bulk construction use a {@link Transient} from {@link #builder()} or
+ * {@link #toTransient()}: it updates nodes it created in place, then freezes them with
+ * {@link Transient#persistent()}. Mutating methods of {@link java.util.List} throw
+ * {@link UnsupportedOperationException}. Null elements are allowed. Kotlin callers get
+ * {@code vector + element} from {@link #plus(Object)}.
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T> PersistentVector<T> of(T... values) {
+        Transient<T> vector = builder();
+        for (T value : values) {
+            vector.add(value);
+        }
+        return vector.persistent();
+    }
+
+    /**
+     * A vector holding {@code values} in iteration order, or {@code values} itself if it is
+     * already a vector.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> from(Iterable<? extends T> values) {
+        if (values instanceof PersistentVector) {
+            return (PersistentVector<T>) values;
+        }
+        return PersistentVector.<T>builder().addAll(values).persistent();
+    }
+
+    /**
+     * An empty transient to fill with {@link Transient#add(Object)}.
+     */
+    public static <T> Transient<T> builder() {
+        return PersistentVector.<T>empty().toTransient();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) leafFor(index, size, shift, root, tail)[index & MASK];
+    }
+
+    /**
+     * This vector with {@code value} appended.
+     */
+    public PersistentVector<T> plus(T value) {
+        int inTail = size - tailOffset(size);
+        if (inTail < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, inTail + 1);
+            newTail[inTail] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        int newShift = shift;
+        Node newRoot;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {value});
+    }
+
+    /**
+     * This vector with every value of {@code values} appended.
+     */
+    public PersistentVector<T> plusAll(Iterable<? extends T> values) {
+        return toTransient().addAll(values).persistent();
+    }
+
+    /**
+     * This vector with {@code value} at {@code index}, which must be less than
+     * {@link #size()}.
+     */
+    public PersistentVector<T> with(int index, T value) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(null, shift, root, index, value), tail);
+    }
+
+    /**
+     * This vector without its last value.
+     *
+     * @throws NoSuchElementException if the vector is empty
+     */
+    public PersistentVector<T> pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("pop() on an empty vector");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        Object[] newTail = leafFor(size - 2, size, shift, root, tail);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * A transient starting out with this vector's values. This vector is not affected by
+     * anything done to it.
+     */
+    public Transient<T> toTransient() {
+        return new Transient<>(size, shift, root, tail);
+    }
+
+    /**
+     * Walks the leaves one array at a time instead of descending the tree for every value.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0) {
+                    leaf = leafFor(index, size, shift, root, tail);
+                }
+                return (T) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    private Node popTail(int level, Node node) {
+        int slot = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(level - BITS, (Node) node.array[slot]);
+            if (child == null && slot == 0) {
+                return null;
+            }
+            Node copy = new Node(null, node.array.clone());
+            copy.array[slot] = child;
+            return copy;
+        }
+        if (slot == 0) {
+            return null;
+        }
+        Node copy = new Node(null, node.array.clone());
+        copy.array[slot] = null;
+        return copy;
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static Object[] leafFor(int index, int size, int shift, Node root, Object[] tail) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * {@code node} itself if the transient owning {@code edit} may change it in place,
+     * otherwise a copy owned by {@code edit}. A null {@code edit} always copies.
+     */
+    private static Node editable(Object edit, Node node) {
+        return edit != null && node.edit == edit ? node : new Node(edit, node.array.clone());
+    }
+
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(edit, new Object[WIDTH]);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    private static Node pushTail(Object edit, int size, int level, Node parent, Node tailNode) {
+        int slot = ((size - 1) >>> level) & MASK;
+        Node copy = editable(edit, parent);
+        Node inserted;
+        if (level == BITS) {
+            inserted = tailNode;
+        } else {
+            Node child = (Node) parent.array[slot];
+            inserted = child != null
+                ? pushTail(edit, size, level - BITS, child, tailNode)
+                : newPath(edit, level - BITS, tailNode);
+        }
+        copy.array[slot] = inserted;
+        return copy;
+    }
+
+    private static Node assoc(Object edit, int level, Node node, int index, Object value) {
+        Node copy = editable(edit, node);
+        if (level == 0) {
+            copy.array[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy.array[slot] = assoc(edit, level - BITS, (Node) node.array[slot], index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * A tree node. {@code edit} is the token of the transient that created it, if any; a
+     * transient changes only nodes carrying its own token.
+     */
+    private static final class Node {
+        final Object edit;
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * A mutable, single-threaded builder over a vector's tree. It copies a node the first
+     * time it changes it and updates the copy in place afterwards, so adding n values costs
+     * about n / 32 small array allocations. {@link #persistent()} hands the tree over as a
+     * vector; the transient cannot be used after that.
+     */
+    public static final class Transient<T> {
+        private Object edit = new Object();
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Transient(int size, int shift, Node root, Object[] tail) {
+            this.size = size;
+            this.shift = shift;
+            this.root = editable(edit, root);
+            this.tail = Arrays.copyOf(tail, WIDTH);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            ensureEditable();
+            Objects.checkIndex(index, size);
+            return (T) leafFor(index, size, shift, root, tail)[index & MASK];
+        }
+
+        public Transient<T> add(T value) {
+            ensureEditable();
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = value;
+                size++;
+                return this;
+            }
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = value;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(edit, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        public Transient<T> addAll(Iterable<? extends T> values) {
+            for (T value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        /**
+         * Replaces the value at {@code index}, which must be less than {@link #size()}.
+         */
+        public Transient<T> set(int index, T value) {
+            ensureEditable();
+            Objects.checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = value;
+            } else {
+                root = assoc(edit, shift, root, index, value);
+            }
+            return this;
+        }
+
+        /**
+         * The values added so far, as a vector.
+         *
+         * @throws IllegalStateException if called twice
+         */
+        public PersistentVector<T> persistent() {
+            ensureEditable();
+            edit = null;
+            if (size == 0) {
+                return empty();
+            }
+            Object[] trimmed = Arrays.copyOf(tail, size - tailOffset(size));
+            return new PersistentVector<>(size, shift, root, trimmed);
+        }
+
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException("Transient used after persistent()");
+            }
+        }
+    }
+}
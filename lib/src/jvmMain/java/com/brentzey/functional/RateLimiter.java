@@ -0,0 +1,100 @@
+package com.brentzey.functional;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that limits how often effects wrapped with
+ * {@link JavaIO#rateLimited(RateLimiter)} may start.
+ *
+ * <pre>{@code
+ * RateLimiter limiter = RateLimiter.of(100, Duration.ofSeconds(1));
+ * JavaIO<Response> call = JavaIO.of(() -> client.send(request)).rateLimited(limiter);
+ * }</pre>
+ *
+ * <p>The bucket refills one permit every {@code period / permits} and holds up to
+ * {@code burst} of them. Rather than a token count it keeps a single timestamp, the time
+ * at which the next permit is free, so taking a permit is one compare-and-set with no
+ * lock and no background refill task. A caller that has to wait reserves its permit
+ * first and then sleeps until it is due, so waiting never calls {@code Thread.sleep}: run
+ * asynchronously the effect suspends; run with {@link JavaIO#unsafeRunSync()} the calling
+ * thread waits. A reserved permit is spent even if the waiting run is cancelled.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong nextFree;
+
+    private RateLimiter(long intervalNanos, int burst) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.nextFree = new AtomicLong(System.nanoTime() - intervalNanos * burst);
+    }
+
+    /**
+     * Allows {@code permits} starts per {@code period}, all of which may be taken at once.
+     */
+    public static RateLimiter of(int permits, Duration period) {
+        return of(permits, period, permits);
+    }
+
+    /**
+     * Allows {@code permits} starts per {@code period} on average, and at most
+     * {@code burst} back to back after the limiter has been idle.
+     */
+    public static RateLimiter of(int permits, Duration period, int burst) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be at least 1, was " + permits);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1, was " + burst);
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive, was " + period);
+        }
+        long interval = Math.max(1, period.toNanos() / permits);
+        if (interval > Long.MAX_VALUE / burst) {
+            throw new IllegalArgumentException("burst is too large for the period: " + burst);
+        }
+        return new RateLimiter(interval, burst);
+    }
+
+    /**
+     * An effect that takes one permit, waiting until one is free.
+     */
+    public JavaIO<Void> acquire() {
+        return JavaIO.of(this::reserve).flatMap(JavaIO::sleepNanos);
+    }
+
+    /**
+     * Takes a permit if one is free right now, without waiting.
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long free = nextFree.get();
+            long due = Math.max(free, now - burstNanos);
+            if (due - now > 0) {
+                return false;
+            }
+            if (nextFree.compareAndSet(free, due + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserves the next free permit and returns how long to wait until it is due.
+     */
+    long reserve() {
+        long now = System.nanoTime();
+        while (true) {
+            long free = nextFree.get();
+            long due = Math.max(free, now - burstNanos);
+            if (nextFree.compareAndSet(free, due + intervalNanos)) {
+                return Math.max(0, due - now);
+            }
+        }
+    }
+}
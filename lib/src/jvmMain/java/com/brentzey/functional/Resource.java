@@ -0,0 +1,124 @@
+package com.brentzey.functional;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A value that has to be acquired before use and released afterwards, such as a
+ * connection, a file handle or a pooled buffer.
+ *
+ * <p>Nothing is acquired until {@link #use(Function)} runs. Resources compose with
+ * {@link #map(Function)} and {@link #flatMap(Function)}; composed resources are released
+ * in reverse order of acquisition, and every release runs whether the use succeeds, fails
+ * or is cancelled.
+ *
+ * <pre>{@code
+ * Resource<Connection> conn = Resource.fromAutoCloseable(JavaIO.of(dataSource::getConnection));
+ * Resource<PreparedStatement> stmt = conn.flatMap(c ->
+ *     Resource.fromAutoCloseable(JavaIO.of(() -> c.prepareStatement(sql))));
+ *
+ * JavaIO<Integer> rows = stmt.use(s -> JavaIO.of(s::executeUpdate));
+ * }</pre>
+ */
+public final class Resource<T> {
+
+    private final Scope<T> scope;
+
+    private Resource(Scope<T> scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * A resource acquired by {@code acquire} and released by {@code release}.
+     */
+    public static <T> Resource<T> make(JavaIO<T> acquire, Function<T, JavaIO<Void>> release) {
+        Objects.requireNonNull(acquire, "acquire");
+        Objects.requireNonNull(release, "release");
+        return new Resource<>(new Scope<T>() {
+            @Override
+            public <R> JavaIO<R> use(Function<T, JavaIO<R>> fn) {
+                return JavaIO.bracket(acquire, fn, release);
+            }
+        });
+    }
+
+    /**
+     * A resource released by calling {@link AutoCloseable#close()}.
+     */
+    public static <T extends AutoCloseable> Resource<T> fromAutoCloseable(JavaIO<T> acquire) {
+        return make(acquire, closeable -> JavaIO.of(() -> {
+            closeable.close();
+            return null;
+        }));
+    }
+
+    /**
+     * A value that needs no acquiring or releasing, for composing with real resources.
+     */
+    public static <T> Resource<T> pure(T value) {
+        return new Resource<>(new Scope<T>() {
+            @Override
+            public <R> JavaIO<R> use(Function<T, JavaIO<R>> fn) {
+                return JavaIO.pure(value).flatMap(fn);
+            }
+        });
+    }
+
+    /**
+     * A bounded pool of objects created by {@code factory}. Using the resource checks an
+     * object out and returns it to the pool afterwards instead of discarding it, so hot
+     * paths can reuse connections or buffers safely.
+     *
+     * <p>The pool creates objects lazily, up to {@code size}. When all of them are checked
+     * out, further uses wait without holding a thread until one is returned. Checkout and
+     * return are lock-free. Objects go back to the pool however the use ended, so a use
+     * that can leave an object in a bad state should reset it before finishing.
+     *
+     * <p>Each call creates a new, independent pool; keep the returned resource and share it.
+     */
+    public static <T> Resource<T> pooled(JavaIO<T> factory, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1, was " + size);
+        }
+        IOPool<T> pool = new IOPool<>(Objects.requireNonNull(factory, "factory"), size);
+        return make(pool.checkout(), pool::checkin);
+    }
+
+    /**
+     * Transforms the acquired value. The original value is still what gets released.
+     */
+    public <R> Resource<R> map(Function<T, R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new Resource<>(new Scope<R>() {
+            @Override
+            public <S> JavaIO<S> use(Function<R, JavaIO<S>> fn) {
+                return scope.use(value -> fn.apply(mapper.apply(value)));
+            }
+        });
+    }
+
+    /**
+     * Acquires a second resource that depends on this one. The second is released first.
+     */
+    public <R> Resource<R> flatMap(Function<T, Resource<R>> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new Resource<>(new Scope<R>() {
+            @Override
+            public <S> JavaIO<S> use(Function<R, JavaIO<S>> fn) {
+                return scope.use(value -> mapper.apply(value).use(fn));
+            }
+        });
+    }
+
+    /**
+     * Acquires the resource, runs {@code fn} with it, and releases it however {@code fn}
+     * ends.
+     */
+    public <R> JavaIO<R> use(Function<T, JavaIO<R>> fn) {
+        return scope.use(Objects.requireNonNull(fn, "fn"));
+    }
+
+    private interface Scope<T> {
+        <R> JavaIO<R> use(Function<T, JavaIO<R>> fn);
+    }
+}
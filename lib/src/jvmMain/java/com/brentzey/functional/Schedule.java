@@ -0,0 +1,134 @@
+package com.brentzey.functional;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable policy that decides whether {@link JavaIO#retry(Schedule)} or
+ * {@link JavaIO#repeat(Schedule)} runs the effect again, and how long to wait first.
+ *
+ * <pre>{@code
+ * Schedule policy = Schedule.exponential(Duration.ofMillis(50))
+ *     .jittered(0.2)
+ *     .maxDelay(Duration.ofSeconds(2))
+ *     .maxRetries(5)
+ *     .maxElapsed(Duration.ofSeconds(10));
+ * }</pre>
+ *
+ * <p>Waiting never calls {@code Thread.sleep}: delays are scheduled on a shared timer and
+ * the effect suspends until it fires.
+ */
+public final class Schedule {
+
+    private final long baseNanos;
+    private final double factor;
+    private final double jitter;
+    private final long maxDelayNanos;
+    private final int maxRetries;
+    private final long maxElapsedNanos;
+
+    private Schedule(long baseNanos, double factor, double jitter,
+                     long maxDelayNanos, int maxRetries, long maxElapsedNanos) {
+        this.baseNanos = baseNanos;
+        this.factor = factor;
+        this.jitter = jitter;
+        this.maxDelayNanos = maxDelayNanos;
+        this.maxRetries = maxRetries;
+        this.maxElapsedNanos = maxElapsedNanos;
+    }
+
+    /**
+     * Runs again immediately, at most {@code times} more times.
+     */
+    public static Schedule recurs(int times) {
+        return fixed(Duration.ZERO).maxRetries(times);
+    }
+
+    /**
+     * Waits the same {@code delay} before every recurrence, with no limit.
+     */
+    public static Schedule fixed(Duration delay) {
+        return new Schedule(nanos(delay, "delay"), 1.0, 0.0, Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Waits {@code base}, then twice as long before each following recurrence, with no limit.
+     */
+    public static Schedule exponential(Duration base) {
+        return exponential(base, 2.0);
+    }
+
+    /**
+     * Waits {@code base}, then {@code factor} times longer before each following recurrence.
+     */
+    public static Schedule exponential(Duration base, double factor) {
+        if (!(factor >= 1.0)) {
+            throw new IllegalArgumentException("factor must be at least 1, was " + factor);
+        }
+        return new Schedule(nanos(base, "base"), factor, 0.0, Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Randomizes each delay by up to {@code ratio} in either direction (0.2 means up to
+     * 20% shorter or longer), so callers that failed together do not retry in lockstep.
+     */
+    public Schedule jittered(double ratio) {
+        if (!(ratio >= 0.0 && ratio <= 1.0)) {
+            throw new IllegalArgumentException("ratio must be between 0 and 1, was " + ratio);
+        }
+        return new Schedule(baseNanos, factor, ratio, maxDelayNanos, maxRetries, maxElapsedNanos);
+    }
+
+    /**
+     * Caps every individual delay at {@code cap}.
+     */
+    public Schedule maxDelay(Duration cap) {
+        return new Schedule(baseNanos, factor, jitter, nanos(cap, "cap"), maxRetries, maxElapsedNanos);
+    }
+
+    /**
+     * Stops after {@code retries} recurrences, so the effect runs at most {@code retries + 1} times.
+     */
+    public Schedule maxRetries(int retries) {
+        if (retries < 0) {
+            throw new IllegalArgumentException("retries must not be negative, was " + retries);
+        }
+        return new Schedule(baseNanos, factor, jitter, maxDelayNanos, retries, maxElapsedNanos);
+    }
+
+    /**
+     * Stops once the next recurrence would start more than {@code limit} after the first run.
+     */
+    public Schedule maxElapsed(Duration limit) {
+        return new Schedule(baseNanos, factor, jitter, maxDelayNanos, maxRetries, nanos(limit, "limit"));
+    }
+
+    /**
+     * The delay before recurrence number {@code retry} (0-based), or -1 to stop.
+     *
+     * @param retry how many recurrences have already happened
+     * @param elapsedNanos time since the first run started
+     */
+    long delayNanos(int retry, long elapsedNanos) {
+        if (retry >= maxRetries) {
+            return -1;
+        }
+        double delay = Math.min(baseNanos * Math.pow(factor, retry), maxDelayNanos);
+        if (jitter > 0.0) {
+            delay = Math.min(delay * (1.0 - jitter + 2.0 * jitter * ThreadLocalRandom.current().nextDouble()),
+                maxDelayNanos);
+        }
+        long nanos = (long) delay;
+        if (nanos > maxElapsedNanos - elapsedNanos) {
+            return -1;
+        }
+        return nanos;
+    }
+
+    private static long nanos(Duration duration, String name) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must not be negative, was " + duration);
+        }
+        return duration.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : duration.toNanos();
+    }
+}
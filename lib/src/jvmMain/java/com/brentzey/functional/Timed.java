@@ -0,0 +1,34 @@
+package com.brentzey.functional;
+
+import java.time.Duration;
+
+/**
+ * The result of an effect together with how long it took, from {@link JavaIO#timed()}.
+ */
+public final class Timed<T> {
+
+    private final T value;
+    private final long elapsedNanos;
+
+    Timed(T value, long elapsedNanos) {
+        this.value = value;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public T value() {
+        return value;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "Timed(" + value + ", " + elapsed() + ")";
+    }
+}
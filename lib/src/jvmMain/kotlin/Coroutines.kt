@@ -0,0 +1,3 @@
+package com.brentzey.functional
+
+internal actual fun blockOn(node: IO<*>): Any? = kotlinx.coroutines.runBlocking { node.await() }
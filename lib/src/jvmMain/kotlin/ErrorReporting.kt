@@ -0,0 +1,8 @@
+package com.brentzey.functional
+
+/**
+ * Shares the Java reporter, so one [IORuntime.setErrorReporter] call covers both APIs.
+ */
+internal actual fun platformErrorReporter(): (Exception) -> Unit = { error ->
+    IORuntime.errorReporter().report(error)
+}
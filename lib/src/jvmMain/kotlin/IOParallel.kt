@@ -0,0 +1,61 @@
+package com.brentzey.functional
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+
+/**
+ * Where the parallel combinators run effects: the Java `IORuntime` executor, shared with
+ * `JavaIO.parTraverse`.
+ */
+private val parallelDispatcher: CoroutineDispatcher = IORuntime.defaultExecutor().asCoroutineDispatcher()
+
+/**
+ * Applies [fn] to every item and runs the resulting effects in parallel, at most
+ * [maxConcurrency] at a time. The result list keeps input order. The first failure fails
+ * the whole traversal and cancels the effects still running.
+ *
+ * Each effect runs on the `IORuntime` executor, so blocking effects such as file or
+ * process work use every core.
+ */
+fun <A, B> IO.Companion.parTraverse(
+    items: Collection<A>,
+    maxConcurrency: Int = maxOf(1, items.size),
+    fn: (A) -> IO<B>,
+): IO<List<B>> {
+    require(maxConcurrency >= 1) { "maxConcurrency must be at least 1, was $maxConcurrency" }
+    val snapshot = items.toList()
+    return fromSuspend {
+        val permits = Semaphore(maxConcurrency)
+        coroutineScope {
+            snapshot.map { item ->
+                async(parallelDispatcher) { permits.withPermit { fn(item).await() } }
+            }.awaitAll()
+        }
+    }
+}
+
+/**
+ * Runs the effects in parallel, at most [maxConcurrency] at a time, and collects their
+ * results in input order. See [parTraverse].
+ */
+fun <T> IO.Companion.parSequence(
+    effects: Collection<IO<T>>,
+    maxConcurrency: Int = maxOf(1, effects.size),
+): IO<List<T>> = parTraverse(effects, maxConcurrency) { it }
+
+/**
+ * Runs two effects in parallel and combines their results. If either fails, the other is
+ * cancelled.
+ */
+fun <A, B, R> IO.Companion.parZip(ia: IO<A>, ib: IO<B>, combine: (A, B) -> R): IO<R> = fromSuspend {
+    coroutineScope {
+        val a = async(parallelDispatcher) { ia.await() }
+        val b = async(parallelDispatcher) { ib.await() }
+        combine(a.await(), b.await())
+    }
+}
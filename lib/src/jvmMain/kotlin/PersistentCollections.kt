@@ -0,0 +1,43 @@
+package com.brentzey.functional
+
+/*
+ * Kotlin entry points for PersistentVector and PersistentMap. `vector + element` and
+ * `map - key` already resolve to their members; `map + (key to value)` needs the operator
+ * below, since the standard library's Map.plus would copy every entry into a new map.
+ */
+
+fun <T> persistentVectorOf(vararg elements: T): PersistentVector<T> = PersistentVector.from(elements.asList())
+
+fun <K : Any, V : Any> persistentMapOf(vararg pairs: Pair<K, V>): PersistentMap<K, V> =
+    buildPersistentMap { pairs.forEach { (key, value) -> put(key, value) } }
+
+fun <T> Iterable<T>.toPersistentVector(): PersistentVector<T> = PersistentVector.from(this)
+
+fun <K : Any, V : Any> Map<K, V>.toPersistentMap(): PersistentMap<K, V> = PersistentMap.from(this)
+
+/**
+ * Builds a vector through a transient, without copying on every add.
+ */
+inline fun <T> buildPersistentVector(build: PersistentVector.Transient<T>.() -> Unit): PersistentVector<T> =
+    PersistentVector.builder<T>().apply(build).persistent()
+
+/**
+ * Builds a map through a transient, without copying on every put.
+ */
+inline fun <K : Any, V : Any> buildPersistentMap(build: PersistentMap.Transient<K, V>.() -> Unit): PersistentMap<K, V> =
+    PersistentMap.builder<K, V>().apply(build).persistent()
+
+operator fun <K : Any, V : Any> PersistentMap<K, V>.plus(pair: Pair<K, V>): PersistentMap<K, V> =
+    plus(pair.first, pair.second)
+
+/**
+ * Applies a batch of changes through one transient.
+ */
+inline fun <K : Any, V : Any> PersistentMap<K, V>.mutate(change: PersistentMap.Transient<K, V>.() -> Unit): PersistentMap<K, V> =
+    toTransient().apply(change).persistent()
+
+/**
+ * Applies a batch of changes through one transient.
+ */
+inline fun <T> PersistentVector<T>.mutate(change: PersistentVector.Transient<T>.() -> Unit): PersistentVector<T> =
+    toTransient().apply(change).persistent()
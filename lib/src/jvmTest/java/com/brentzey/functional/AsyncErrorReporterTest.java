@@ -0,0 +1,92 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncErrorReporterTest {
+
+    private static void awaitDelivered(AsyncErrorReporter reporter, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reporter.delivered() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Errors are delivered in order on the reporter's own thread")
+    void testDeliversOnDrainThread() throws Exception {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        AtomicReference<Thread> sinkThread = new AtomicReference<>();
+        try (AsyncErrorReporter reporter = AsyncErrorReporter.create(16, 1.0, 1000, error -> {
+            sinkThread.set(Thread.currentThread());
+            messages.add(error.getMessage());
+        })) {
+            reporter.report(new Exception("first"));
+            reporter.report(new Exception("second"));
+            awaitDelivered(reporter, 2);
+
+            assertEquals(List.of("first", "second"), messages);
+            assertNotSame(Thread.currentThread(), sinkThread.get());
+            assertEquals(0, reporter.dropped());
+        }
+    }
+
+    @Test
+    @DisplayName("A full buffer drops and counts errors instead of blocking")
+    void testOverflowIsCounted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncErrorReporter reporter = AsyncErrorReporter.create(4, 1.0, 1000, error -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            for (int i = 0; i < 20; i++) {
+                reporter.report(new Exception("error " + i));
+            }
+            release.countDown();
+            awaitDelivered(reporter, 20 - reporter.overflowed());
+
+            assertTrue(reporter.overflowed() >= 15, "overflowed " + reporter.overflowed());
+            assertEquals(20, reporter.delivered() + reporter.dropped());
+        }
+    }
+
+    @Test
+    @DisplayName("Sampling and the rate limit drop errors before they reach the buffer")
+    void testSamplingAndRateLimit() {
+        try (AsyncErrorReporter none = AsyncErrorReporter.create(16, 0.0, 1000, error -> { });
+             AsyncErrorReporter limited = AsyncErrorReporter.create(1024, 1.0, 5, error -> { })) {
+            for (int i = 0; i < 10; i++) {
+                none.report(new Exception("sampled"));
+                limited.report(new Exception("limited"));
+            }
+
+            assertEquals(10, none.sampledOut());
+            assertEquals(5, limited.rateLimited());
+        }
+    }
+
+    @Test
+    @DisplayName("runToOptional() hands failures to the installed reporter")
+    void testRunToOptionalReports() {
+        ErrorReporter previous = IORuntime.errorReporter();
+        List<Exception> reported = new CopyOnWriteArrayList<>();
+        IORuntime.setErrorReporter(reported::add);
+        try {
+            Exception error = new Exception("boom");
+
+            assertTrue(JavaIO.<String>raiseError(error).runToOptional().isEmpty());
+            assertEquals(List.of(error), reported);
+        } finally {
+            IORuntime.setErrorReporter(previous);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchedLoaderTest {
+
+    private static Function<Set<Integer>, JavaIO<Map<Integer, String>>> recording(List<Set<Integer>> calls) {
+        return keys -> JavaIO.of(() -> {
+            calls.add(keys);
+            return keys.stream()
+                .filter(key -> key >= 0)
+                .collect(Collectors.toMap(key -> key, key -> "v" + key));
+        });
+    }
+
+    @Test
+    @DisplayName("loadMany() sends its keys in one batch, deduplicated")
+    void testLoadManyBatches() {
+        List<Set<Integer>> calls = new CopyOnWriteArrayList<>();
+        BatchedLoader<Integer, String> loader = BatchedLoader.of(recording(calls));
+
+        Map<Integer, String> found = loader.loadMany(List.of(1, 2, 2, 3, -1, 1)).unsafeRunSync();
+
+        assertEquals(Map.of(1, "v1", 2, "v2", 3, "v3"), found);
+        assertEquals(List.of(Set.of(1, 2, 3, -1)), calls);
+    }
+
+    @Test
+    @DisplayName("concurrent load() calls within the window share a batch")
+    void testConcurrentLoadsCoalesce() {
+        List<Set<Integer>> calls = new CopyOnWriteArrayList<>();
+        BatchedLoader<Integer, String> loader = BatchedLoader.of(recording(calls), 100, Duration.ofMillis(200));
+        List<Integer> keys = List.of(4, 5, 4, -7);
+
+        List<Optional<String>> values = JavaIO.parTraverse(keys, loader::load).unsafeRunSync();
+
+        assertEquals(List.of(Optional.of("v4"), Optional.of("v5"), Optional.of("v4"), Optional.empty()), values);
+        assertEquals(List.of(Set.of(4, 5, -7)), calls);
+    }
+
+    @Test
+    @DisplayName("batches never exceed maxBatchSize")
+    void testMaxBatchSize() {
+        List<Set<Integer>> calls = new CopyOnWriteArrayList<>();
+        BatchedLoader<Integer, String> loader = BatchedLoader.of(recording(calls), 2, Duration.ZERO);
+        List<Integer> keys = IntStream.range(0, 5).boxed().collect(Collectors.toList());
+
+        assertEquals(5, loader.loadMany(keys).unsafeRunSync().size());
+        assertEquals(3, calls.size());
+        assertTrue(calls.stream().allMatch(batch -> batch.size() <= 2));
+        assertEquals(Set.copyOf(keys), calls.stream().flatMap(Set::stream).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("a failed batch fails every load in it, and later batches run again")
+    void testBatchFailure() {
+        IllegalStateException boom = new IllegalStateException("boom");
+        BatchedLoader<Integer, String> loader = BatchedLoader.of(keys -> JavaIO.of(() -> {
+            if (keys.contains(-1)) {
+                throw boom;
+            }
+            return Map.of(9, "nine");
+        }));
+
+        assertSame(boom, loader.load(-1).attempt().error());
+        assertSame(boom, loader.loadMany(List.of(9, -1)).attempt().error());
+        assertEquals(Optional.of("nine"), loader.load(9).unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("keys of a batch sealed by size are loaded again, and its failure is not sticky")
+    void testFullBatchIsNotReused() {
+        List<Set<Integer>> calls = new CopyOnWriteArrayList<>();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        BatchedLoader<Integer, String> loader = BatchedLoader.of(keys -> JavaIO.of(() -> {
+            calls.add(keys);
+            if (failing.get()) {
+                throw new IllegalStateException("down");
+            }
+            return Map.of(1, "v1", 2, "v2");
+        }), 2, Duration.ofMinutes(1));
+
+        assertEquals("down", loader.loadMany(List.of(1, 2)).attempt().error().getMessage());
+        failing.set(false);
+        assertEquals(Map.of(1, "v1", 2, "v2"), loader.loadMany(List.of(1, 2)).unsafeRunSync());
+        assertEquals(Map.of(1, "v1", 2, "v2"), loader.loadMany(List.of(2, 1)).unsafeRunSync());
+
+        assertEquals(List.of(Set.of(1, 2), Set.of(1, 2), Set.of(1, 2)), calls);
+    }
+
+    @Test
+    @DisplayName("of() rejects a non-positive maxBatchSize and a negative window")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class,
+            () -> BatchedLoader.of(recording(new ArrayList<>()), 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+            () -> BatchedLoader.of(recording(new ArrayList<>()), 1, Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    @DisplayName("At most maxConcurrent runs are in flight; the rest wait their turn")
+    void testLimitsConcurrency() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        JavaIO<Void> io = JavaIO.<Void>of(() -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            active.decrementAndGet();
+            return null;
+        }).bulkhead(2, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            runs.add(io.runAsync(executor));
+        }
+        CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0])).join();
+        executor.shutdown();
+
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    @DisplayName("Runs beyond the queue are rejected, and permits come back after failures")
+    void testRejectsWhenFull() {
+        Bulkhead bulkhead = Bulkhead.of(1, 0);
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        CompletableFuture<Void> holder = JavaIO.fromCompletableFuture(() -> gate)
+            .bulkhead(bulkhead)
+            .toCompletableFuture();
+        Exception rejected;
+        while ((rejected = JavaIO.pure(1).bulkhead(bulkhead).attempt().error()) == null) {
+            Thread.onSpinWait();
+        }
+        gate.complete(null);
+        holder.join();
+
+        assertInstanceOf(RejectedExecutionException.class, rejected);
+        assertEquals("failed", JavaIO.<String>of(() -> {
+            throw new Exception("failed");
+        }).bulkhead(bulkhead).attempt().error().getMessage());
+        assertEquals(1, JavaIO.pure(1).bulkhead(bulkhead).unsafeRunSync());
+    }
+}
@@ -0,0 +1,90 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkTest {
+
+    @Test
+    @DisplayName("of() copies its arguments")
+    void testOfCopies() {
+        Integer[] values = {1, 2, 3};
+        Chunk<Integer> chunk = Chunk.of(values);
+        values[0] = 99;
+
+        assertEquals(List.of(1, 2, 3), chunk.toList());
+        assertEquals(3, chunk.size());
+    }
+
+    @Test
+    @DisplayName("map(), filter() and fold() work over the whole chunk")
+    void testOperations() {
+        Chunk<Integer> chunk = Chunk.of(1, 2, 3, 4);
+
+        assertEquals(List.of(2, 4, 6, 8), chunk.map(x -> x * 2).toList());
+        assertEquals(List.of(2, 4), chunk.filter(x -> x % 2 == 0).toList());
+        assertSame(chunk, chunk.filter(x -> true));
+        assertEquals(10, chunk.fold(0, Integer::sum));
+    }
+
+    @Test
+    @DisplayName("take() and drop() slice without going out of bounds")
+    void testSlicing() {
+        Chunk<String> chunk = Chunk.of("a", "b", "c", "d");
+
+        assertEquals(List.of("a", "b"), chunk.take(2).toList());
+        assertEquals(List.of("c", "d"), chunk.drop(2).toList());
+        assertEquals(List.of("b", "c"), chunk.drop(1).take(2).toList());
+        assertEquals("c", chunk.drop(1).get(1));
+        assertTrue(chunk.drop(10).isEmpty());
+        assertSame(chunk, chunk.take(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> chunk.take(2).get(2));
+    }
+
+    @Test
+    @DisplayName("fromCollection() and single() build chunks")
+    void testFactories() {
+        assertEquals(List.of(1, 2), Chunk.fromCollection(List.of(1, 2)).toList());
+        assertEquals(List.of("x"), Chunk.single("x").toList());
+        assertTrue(Chunk.empty().isEmpty());
+    }
+
+    @Test
+    @DisplayName("mapToInt/Long/Double() convert to primitive chunks")
+    void testMapToPrimitive() {
+        Chunk<String> words = Chunk.of("a", "bb", "ccc");
+
+        assertArrayEquals(new int[] {1, 2, 3}, words.mapToInt(String::length).toArray());
+        assertArrayEquals(new long[] {1L, 2L, 3L}, words.mapToLong(String::length).toArray());
+        assertArrayEquals(new double[] {0.5, 1.0, 1.5}, words.mapToDouble(w -> w.length() / 2.0).toArray());
+    }
+
+    @Test
+    @DisplayName("IntChunk maps, filters, folds and slices without boxing")
+    void testIntChunk() {
+        IntChunk chunk = IntChunk.of(1, 2, 3, 4, 5);
+
+        assertArrayEquals(new int[] {2, 4, 6, 8, 10}, chunk.map(x -> x * 2).toArray());
+        assertArrayEquals(new int[] {2, 4}, chunk.filter(x -> x % 2 == 0).toArray());
+        assertEquals(15, chunk.fold(0, Integer::sum));
+        assertArrayEquals(new int[] {2, 3}, chunk.drop(1).take(2).toArray());
+        assertEquals(3, chunk.drop(2).get(0));
+        assertEquals(List.of(1, 2, 3, 4, 5), chunk.boxed().toList());
+        assertTrue(IntChunk.empty().isEmpty());
+    }
+
+    @Test
+    @DisplayName("LongChunk and DoubleChunk map and fold without boxing")
+    void testLongAndDoubleChunk() {
+        LongChunk longs = LongChunk.of(1L << 40, 1L << 40);
+        DoubleChunk doubles = DoubleChunk.of(0.5, 1.5, 2.0);
+
+        assertEquals(1L << 41, longs.fold(0L, Long::sum));
+        assertArrayEquals(new long[] {(1L << 40) + 1}, longs.take(1).map(x -> x + 1).toArray());
+        assertEquals(4.0, doubles.fold(0.0, Double::sum));
+        assertArrayEquals(new double[] {1.5, 2.0}, doubles.filter(x -> x > 1).toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> doubles.get(3));
+    }
+}
@@ -0,0 +1,86 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static JavaIO<Integer> flaky(AtomicBoolean failing, AtomicInteger runs) {
+        return JavaIO.of(() -> {
+            runs.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("down");
+            }
+            return 1;
+        });
+    }
+
+    @Test
+    @DisplayName("The breaker opens once the window is full and the failure rate is reached")
+    void testOpensOnFailureRate() {
+        CircuitBreaker breaker = CircuitBreaker.of(4, 0.5, Duration.ofMinutes(1));
+        AtomicBoolean failing = new AtomicBoolean(false);
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = flaky(failing, runs).withCircuitBreaker(breaker);
+
+        io.attempt();
+        io.attempt();
+        failing.set(true);
+        assertEquals("down", io.attempt().error().getMessage());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        io.attempt();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2, breaker.failures());
+    }
+
+    @Test
+    @DisplayName("An open breaker fails fast with one stackless exception and skips the effect")
+    void testFailsFastWhenOpen() {
+        CircuitBreaker breaker = CircuitBreaker.of(1, 1.0, Duration.ofMinutes(1));
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = flaky(new AtomicBoolean(true), runs).withCircuitBreaker(breaker);
+        io.attempt();
+
+        Exception first = io.attempt().error();
+        Exception second = io.attempt().error();
+
+        assertEquals(1, runs.get());
+        assertInstanceOf(CircuitBreaker.OpenException.class, first);
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("After openDuration a successful probe closes the breaker and a failed one reopens it")
+    void testHalfOpenProbe() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.of(1, 1.0, Duration.ofMillis(20));
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = flaky(failing, runs).withCircuitBreaker(breaker);
+        io.attempt();
+
+        Thread.sleep(30);
+        assertEquals("down", io.attempt().error().getMessage());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        Thread.sleep(30);
+        failing.set(false);
+        assertEquals(1, io.unsafeRunSync());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, breaker.failures());
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    @DisplayName("Invalid settings are rejected")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.of(0, 0.5, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.of(10, 0.0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.of(10, 0.5, Duration.ZERO));
+    }
+}
@@ -0,0 +1,118 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiberTest {
+
+    private static JavaIO<Long> spinUntil(AtomicBoolean flag, AtomicLong steps) {
+        return JavaIO.of(flag::get).flatMap(done -> done
+            ? JavaIO.pure(steps.get())
+            : JavaIO.of(steps::incrementAndGet).flatMap(n -> spinUntil(flag, steps)));
+    }
+
+    @Test
+    @DisplayName("start() runs the effect in the background and join() yields its result")
+    void testStartAndJoin() {
+        Fiber<Integer> fiber = JavaIO.of(() -> 20).map(x -> x + 1).start();
+
+        assertEquals(42, fiber.join().map(x -> x * 2).unsafeRunSync());
+        assertTrue(fiber.isDone());
+    }
+
+    @Test
+    @DisplayName("join() fails with the fiber's error")
+    void testJoinFailure() {
+        Fiber<Integer> fiber = JavaIO.<Integer>of(() -> {
+            throw new Exception("fiber failed");
+        }).start();
+
+        assertEquals("fiber failed", fiber.join().attempt().error().getMessage());
+    }
+
+    @Test
+    @DisplayName("cancel() stops a running fiber at its next step")
+    void testCancel() throws Exception {
+        AtomicBoolean never = new AtomicBoolean(false);
+        AtomicLong steps = new AtomicLong();
+        Fiber<Long> fiber = spinUntil(never, steps).start();
+        while (steps.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertTrue(fiber.cancel());
+        assertTrue(fiber.isDone());
+        assertInstanceOf(CancellationException.class, fiber.join().attempt().error());
+        long stepsAfterCancel = steps.get();
+        Thread.sleep(20);
+        assertTrue(steps.get() - stepsAfterCancel <= 1);
+    }
+
+    @Test
+    @DisplayName("cancel() interrupts a fiber blocked inside a supplier")
+    void testCancelInterrupts() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Fiber<String> fiber = JavaIO.of(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                return "finished";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        }).start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(fiber.cancel());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Fibers auto-yield so a spinning fiber cannot starve others on one worker")
+    void testAutoYield() throws Exception {
+        FiberScheduler singleWorker = new FiberScheduler(1);
+        try {
+            AtomicBoolean released = new AtomicBoolean(false);
+            AtomicLong steps = new AtomicLong();
+            Fiber<Long> spinner = spinUntil(released, steps).start(singleWorker);
+            Fiber<Boolean> releaser = JavaIO.of(() -> {
+                released.set(true);
+                return true;
+            }).start(singleWorker);
+
+            assertTrue(releaser.toCompletableFuture().get(5, TimeUnit.SECONDS));
+            assertTrue(spinner.toCompletableFuture().get(5, TimeUnit.SECONDS) > 0);
+        } finally {
+            singleWorker.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("100k fibers can be in flight at once")
+    void testManyFibers() throws Exception {
+        CompletableFuture<Integer> gate = new CompletableFuture<>();
+        List<Fiber<Integer>> fibers = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int n = i;
+            fibers.add(JavaIO.fromCompletableFuture(gate).map(g -> g + n).start());
+        }
+        gate.complete(1);
+
+        long sum = 0;
+        for (Fiber<Integer> fiber : fibers) {
+            sum += fiber.toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(100_000L + (100_000L * 99_999L) / 2, sum);
+    }
+}
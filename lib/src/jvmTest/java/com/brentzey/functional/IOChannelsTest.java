@@ -0,0 +1,78 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IOChannelsTest {
+
+    @Test
+    @DisplayName("write() and read() transfer bytes through an AsynchronousFileChannel")
+    void testFileChannel() throws Exception {
+        Path path = Files.createTempFile("iochannels", ".txt");
+        path.toFile().deleteOnExit();
+        byte[] content = "hello, channel".getBytes(StandardCharsets.US_ASCII);
+
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(path,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer dst = ByteBuffer.allocate(64);
+            int read = IOChannels.write(channel, ByteBuffer.wrap(content), 0)
+                .flatMap(written -> IOChannels.read(channel, dst, 7))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            assertEquals(7, read);
+            assertEquals("channel", new String(dst.array(), 0, read, StandardCharsets.US_ASCII));
+            assertEquals(-1, IOChannels.read(channel, ByteBuffer.allocate(8), 100).unsafeRunSync());
+        }
+    }
+
+    @Test
+    @DisplayName("connect(), accept(), write() and read() work over a loopback socket")
+    void testSocketChannel() throws Exception {
+        try (AsynchronousServerSocketChannel server = AsynchronousServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+             AsynchronousSocketChannel client = AsynchronousSocketChannel.open()) {
+            JavaIO<String> serve = IOChannels.accept(server).flatMap(peer -> {
+                ByteBuffer dst = ByteBuffer.allocate(16);
+                return IOChannels.read(peer, dst)
+                    .map(n -> new String(dst.array(), 0, n, StandardCharsets.US_ASCII))
+                    .flatMap(text -> IOChannels.write(peer, ByteBuffer.wrap(text.toUpperCase().getBytes(
+                        StandardCharsets.US_ASCII))).map(ignored -> text));
+            });
+            CompletableFuture<String> served = serve.toCompletableFuture();
+
+            ByteBuffer reply = ByteBuffer.allocate(16);
+            int n = IOChannels.connect(client, server.getLocalAddress())
+                .flatMap(ignored -> IOChannels.write(client, ByteBuffer.wrap("ping".getBytes(
+                    StandardCharsets.US_ASCII))))
+                .flatMap(ignored -> IOChannels.read(client, reply))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            assertEquals("ping", served.get(5, TimeUnit.SECONDS));
+            assertEquals("PING", new String(reply.array(), 0, n, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    @DisplayName("channel failures surface as the effect's error")
+    void testFailure() throws Exception {
+        AsynchronousSocketChannel client = AsynchronousSocketChannel.open();
+        client.close();
+
+        assertInstanceOf(ClosedChannelException.class,
+            IOChannels.read(client, ByteBuffer.allocate(4)).attempt().error());
+    }
+}
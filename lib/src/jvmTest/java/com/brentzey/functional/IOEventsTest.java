@@ -0,0 +1,63 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IOEventsTest {
+
+    private static List<RecordedEvent> record(String eventName, Runnable body) throws Exception {
+        Path file = Files.createTempFile("ioevents", ".jfr");
+        file.toFile().deleteOnExit();
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            body.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(eventName))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("named effects are recorded with their name and outcome")
+    void testEffectEvents() throws Exception {
+        List<RecordedEvent> events = record("com.brentzey.functional.Effect", () -> {
+            JavaIO.pure(1).named("events.ok").unsafeRunSync();
+            JavaIO.of(() -> {
+                throw new IllegalStateException("boom");
+            }).named("events.failing").attempt();
+        });
+
+        RecordedEvent ok = events.stream().filter(e -> "events.ok".equals(e.getString("name"))).findFirst().get();
+        RecordedEvent failing = events.stream()
+            .filter(e -> "events.failing".equals(e.getString("name"))).findFirst().get();
+        assertEquals("success", ok.getString("outcome"));
+        assertEquals("failure", failing.getString("outcome"));
+        assertEquals(IllegalStateException.class.getName(), failing.getClass("failure").getName());
+    }
+
+    @Test
+    @DisplayName("runs and async boundaries are recorded")
+    void testRunAndAsyncEvents() throws Exception {
+        List<RecordedEvent> runs = record("com.brentzey.functional.Run",
+            () -> JavaIO.pure(1).toCompletableFuture().join());
+        List<RecordedEvent> waits = record("com.brentzey.functional.AsyncBoundary",
+            () -> JavaIO.sleep(Duration.ofMillis(10)).toCompletableFuture().join());
+
+        assertTrue(runs.stream().anyMatch(e -> e.getBoolean("async") && "success".equals(e.getString("outcome"))),
+            runs.toString());
+        assertTrue(waits.stream().anyMatch(e -> e.getBoolean("suspends")
+            && e.getDuration().compareTo(Duration.ofMillis(10)) >= 0), waits.toString());
+    }
+}
@@ -0,0 +1,88 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IOFilesTest {
+
+    private static Path tempFile(byte[] content) throws Exception {
+        Path path = Files.createTempFile("iofiles", ".bin");
+        path.toFile().deleteOnExit();
+        Files.write(path, content);
+        return path;
+    }
+
+    private static byte[] pattern(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(List<ByteBuffer> buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("mapped() slices the file into read-only buffers of chunkSize bytes")
+    void testMappedSlices() throws Exception {
+        byte[] content = pattern(10_000);
+        List<ByteBuffer> buffers = IOFiles.mapped(tempFile(content), 4096).compile().unsafeRunSync();
+
+        assertEquals(3, buffers.size());
+        assertEquals(4096, buffers.get(0).remaining());
+        assertEquals(10_000 - 2 * 4096, buffers.get(2).remaining());
+        assertTrue(buffers.get(0).isReadOnly());
+        assertTrue(buffers.get(0).isDirect());
+        assertArrayEquals(content, concat(buffers));
+    }
+
+    @Test
+    @DisplayName("mapped() maps large files region by region")
+    void testMappedRegions() throws Exception {
+        byte[] content = pattern(10_000);
+        Path path = tempFile(content);
+
+        List<ByteBuffer> buffers = IOFiles.mapped(path, 1000, 3000).compile().unsafeRunSync();
+        assertEquals(10, buffers.size());
+        assertArrayEquals(content, concat(buffers));
+
+        List<ByteBuffer> unaligned = IOFiles.mapped(path, 700, 2500).compile().unsafeRunSync();
+        assertArrayEquals(content, concat(unaligned));
+        assertTrue(unaligned.stream().allMatch(buffer -> buffer.remaining() <= 700));
+    }
+
+    @Test
+    @DisplayName("mapped() is lazy and reads the file afresh on each run")
+    void testMappedLazy() throws Exception {
+        Path path = tempFile(pattern(10));
+        IOStream<ByteBuffer> stream = IOFiles.mapped(path, 4);
+
+        Files.write(path, pattern(20));
+        assertEquals(20, stream.fold(0, (n, buffer) -> n + buffer.remaining()).unsafeRunSync());
+        assertEquals(List.of(4), stream.take(1).map(ByteBuffer::remaining).compile().unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("mapped() of an empty file is an empty stream; a missing file fails")
+    void testMappedEdgeCases() throws Exception {
+        assertEquals(List.of(), IOFiles.mapped(tempFile(new byte[0])).compile().unsafeRunSync());
+        assertInstanceOf(NoSuchFileException.class,
+            IOFiles.mapped(Path.of("does-not-exist.bin")).compile().attempt().error());
+        assertThrows(IllegalArgumentException.class, () -> IOFiles.mapped(Path.of("x"), 0));
+    }
+}
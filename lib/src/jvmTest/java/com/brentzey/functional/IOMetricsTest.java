@@ -0,0 +1,94 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IOMetricsTest {
+
+    @Test
+    @DisplayName("A recorder allocates bucket stripes only as threads record into them")
+    void testStripesAllocatedLazily() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder("metrics.test.stripes");
+        assertEquals(0, recorder.allocatedStripes());
+        assertEquals(0, recorder.snapshot().count());
+
+        recorder.record(1_000, true);
+        recorder.record(2_000, true);
+        assertEquals(1, recorder.allocatedStripes());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            Thread thread = new Thread(() -> recorder.record(3_000, false));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(recorder.allocatedStripes() <= 8);
+        assertEquals(34, recorder.snapshot().count());
+    }
+
+    @Test
+    @DisplayName("named() records latency and outcome of every run")
+    void testNamedRecords() {
+        JavaIO<Integer> ok = JavaIO.pure(1).named("metrics.test.outcome");
+        JavaIO<Integer> failing = JavaIO.<Integer>of(() -> {
+            throw new IllegalStateException("boom");
+        }).named("metrics.test.outcome");
+
+        ok.unsafeRunSync();
+        ok.unsafeRunSync();
+        assertInstanceOf(IllegalStateException.class, failing.attempt().error());
+
+        LatencySnapshot snapshot = IOMetrics.snapshot("metrics.test.outcome");
+        assertEquals(3, snapshot.count());
+        assertEquals(2, snapshot.successes());
+        assertEquals(1, snapshot.failures());
+        assertTrue(IOMetrics.snapshots().containsKey("metrics.test.outcome"));
+    }
+
+    @Test
+    @DisplayName("percentiles reflect the recorded latencies")
+    void testPercentiles() throws Exception {
+        JavaIO<Void> slow = JavaIO.sleep(Duration.ofMillis(50)).named("metrics.test.slow");
+        JavaIO<Integer> fast = JavaIO.pure(1).named("metrics.test.slow");
+        for (int i = 0; i < 98; i++) {
+            fast.unsafeRunSync();
+        }
+        slow.unsafeRunSync();
+        slow.unsafeRunSync();
+
+        LatencySnapshot snapshot = IOMetrics.snapshot("metrics.test.slow");
+        assertTrue(snapshot.p50().compareTo(Duration.ofMillis(10)) < 0, snapshot.toString());
+        assertTrue(snapshot.p99().compareTo(Duration.ofMillis(50)) >= 0, snapshot.toString());
+        assertTrue(snapshot.p999().compareTo(snapshot.p99()) >= 0);
+        assertEquals(snapshot.max(), snapshot.percentile(100));
+    }
+
+    @Test
+    @DisplayName("histogram buckets stay within about 3% of the recorded value")
+    void testBucketAccuracy() {
+        for (long value : List.of(0L, 1L, 31L, 32L, 33L, 1000L, 123_456_789L, LatencyRecorder.MAX_VALUE)) {
+            int bucket = LatencyRecorder.bucketOf(value);
+            long highest = LatencyRecorder.highestValueIn(bucket);
+            assertTrue(highest >= value && highest - value <= value / 32, value + " -> " + highest);
+            assertTrue(bucket == 0 || LatencyRecorder.highestValueIn(bucket - 1) < value);
+        }
+        assertEquals(LatencyRecorder.BUCKETS - 1, LatencyRecorder.bucketOf(LatencyRecorder.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("snapshot() of an unknown name is empty")
+    void testUnknownName() {
+        LatencySnapshot snapshot = IOMetrics.snapshot("metrics.test.unknown");
+
+        assertEquals(0, snapshot.count());
+        assertEquals(Duration.ZERO, snapshot.p99());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentile(101));
+    }
+}
@@ -0,0 +1,151 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IOStreamTest {
+
+    private static List<Integer> range(int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("compile() collects every value in order")
+    void testCompile() {
+        assertEquals(List.of(1, 2, 3), IOStream.of(1, 2, 3).compile().unsafeRunSync());
+        assertEquals(List.of(), IOStream.empty().compile().unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("A stream is lazy until run and runs from the start each time")
+    void testLazy() {
+        AtomicInteger evaluations = new AtomicInteger();
+        IOStream<Integer> stream = IOStream.eval(JavaIO.of(evaluations::incrementAndGet));
+
+        assertEquals(0, evaluations.get());
+        assertEquals(List.of(1), stream.compile().unsafeRunSync());
+        assertEquals(List.of(2), stream.compile().unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("fromIterable() splits values into chunks and can be run repeatedly")
+    void testFromIterable() {
+        IOStream<Integer> stream = IOStream.fromIterable(range(10), 3);
+
+        assertEquals(range(10), stream.compile().unsafeRunSync());
+        assertEquals(range(10), stream.compile().unsafeRunSync());
+        assertEquals(4, (int) stream.mapChunks(chunk -> Chunk.single(chunk.size())).fold(0, (n, size) -> n + 1)
+            .unsafeRunSync());
+        assertThrows(IllegalArgumentException.class, () -> IOStream.fromIterable(range(1), 0));
+    }
+
+    @Test
+    @DisplayName("map() and filter() transform values across chunks")
+    void testMapFilter() {
+        List<Integer> result = IOStream.fromIterable(range(20), 4)
+            .filter(x -> x % 3 == 0)
+            .map(x -> x * 10)
+            .compile()
+            .unsafeRunSync();
+
+        assertEquals(List.of(0, 30, 60, 90, 120, 150, 180), result);
+    }
+
+    @Test
+    @DisplayName("flatMap() concatenates the inner streams in order")
+    void testFlatMap() {
+        List<String> result = IOStream.of("a", "b")
+            .flatMap(s -> IOStream.of(s + "1", s + "2"))
+            .compile()
+            .unsafeRunSync();
+
+        assertEquals(List.of("a1", "a2", "b1", "b2"), result);
+    }
+
+    @Test
+    @DisplayName("evalMap() runs an effect per value, in order")
+    void testEvalMap() {
+        List<Integer> seen = new ArrayList<>();
+        List<Integer> result = IOStream.fromIterable(range(5), 2)
+            .evalMap(x -> JavaIO.of(() -> {
+                seen.add(x);
+                return x * x;
+            }))
+            .compile()
+            .unsafeRunSync();
+
+        assertEquals(List.of(0, 1, 4, 9, 16), result);
+        assertEquals(range(5), seen);
+    }
+
+    @Test
+    @DisplayName("take() stops pulling from upstream once it has enough")
+    void testTakeStopsPulling() {
+        AtomicInteger pulled = new AtomicInteger();
+        List<Integer> result = IOStream.fromIterable(range(1000), 10)
+            .evalMap(x -> JavaIO.of(() -> {
+                pulled.incrementAndGet();
+                return x;
+            }))
+            .take(15)
+            .compile()
+            .unsafeRunSync();
+
+        assertEquals(range(15), result);
+        assertEquals(20, pulled.get());
+        assertEquals(List.of(), IOStream.of(1, 2).take(0).compile().unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("fold() and drain() run the stream to the end")
+    void testFoldAndDrain() {
+        AtomicInteger count = new AtomicInteger();
+        IOStream<Integer> stream = IOStream.fromIterable(range(100), 7).evalMap(x -> JavaIO.of(() -> {
+            count.incrementAndGet();
+            return x;
+        }));
+
+        assertEquals(4950, stream.fold(0, Integer::sum).unsafeRunSync());
+        stream.drain().unsafeRunSync();
+        assertEquals(200, count.get());
+    }
+
+    @Test
+    @DisplayName("append() runs one stream after the other")
+    void testAppend() {
+        assertEquals(List.of(1, 2, 3), IOStream.of(1).append(IOStream.of(2, 3)).compile().unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("A failing effect fails the compiled stream")
+    void testFailure() {
+        JavaIO<List<Integer>> io = IOStream.of(1, 2, 3)
+            .evalMap(x -> JavaIO.of(() -> {
+                if (x == 2) {
+                    throw new Exception("bad record " + x);
+                }
+                return x;
+            }))
+            .compile();
+
+        assertEquals("bad record 2", io.attempt().error().getMessage());
+    }
+
+    @Test
+    @DisplayName("Long streams of small chunks are stack-safe")
+    void testStackSafety() {
+        long sum = IOStream.fromIterable(range(200_000), 1)
+            .filter(x -> x % 2 == 0)
+            .map(x -> (long) x)
+            .fold(0L, Long::sum)
+            .unsafeRunSync();
+
+        assertEquals(9_999_900_000L, sum);
+    }
+}
@@ -2,7 +2,21 @@ package com.brentzey.functional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import static org.junit.jupiter.api.Assertions.*;
 
 class JavaIOTest {
@@ -40,6 +54,47 @@ class JavaIOTest {
         assertEquals(30, io.unsafeRunSync());
     }
 
+    @Test
+    @DisplayName("Deep map chains over of() and pure() run every function on every run")
+    void testMapFusion() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Integer, Integer> addOne = x -> {
+            calls.incrementAndGet();
+            return x + 1;
+        };
+        JavaIO<Integer> overEffect = JavaIO.of(() -> 0);
+        JavaIO<Integer> overPure = JavaIO.pure(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            overEffect = overEffect.map(addOne);
+            overPure = overPure.map(addOne);
+        }
+
+        assertEquals(0, calls.get());
+        assertEquals(10_000, overEffect.unsafeRunSync());
+        assertEquals(20_000, overPure.unsafeRunSync());
+        assertEquals(20_000, calls.get());
+        assertEquals(10_000, overEffect.unsafeRunSync());
+        assertEquals(20_000, overPure.attempt().value());
+        assertEquals(40_000, calls.get());
+    }
+
+    @Test
+    @DisplayName("Fused maps stay lazy, run on every run and leave shared prefixes alone")
+    void testMapFusionSemantics() {
+        AtomicInteger calls = new AtomicInteger();
+        JavaIO<Integer> prefix = JavaIO.pure(1).map(x -> x + calls.incrementAndGet());
+        JavaIO<Integer> doubled = prefix.map(x -> x * 2);
+        JavaIO<Integer> negated = prefix.map(x -> -x);
+
+        assertEquals(0, calls.get());
+        assertEquals(4, doubled.unsafeRunSync());
+        assertEquals(-3, negated.unsafeRunSync());
+        assertEquals(4, prefix.unsafeRunSync());
+        assertEquals("fused", JavaIO.pure(1).<Integer>map(x -> {
+            throw new IllegalStateException("fused");
+        }).map(x -> x + 1).attempt().error().getMessage());
+    }
+
     @Test
     @DisplayName("flatMap() chains another IO operation")
     void testFlatMap() {
@@ -239,6 +294,695 @@ class JavaIOTest {
         assertEquals("initial error", thrown.getMessage());
     }
 
+    @Test
+    @DisplayName("map() chains of 100k steps run without stack overflow")
+    void testDeepMapChainIsStackSafe() {
+        JavaIO<Integer> io = JavaIO.pure(0);
+        for (int i = 0; i < 100_000; i++) {
+            io = io.map(x -> x + 1);
+        }
+
+        assertEquals(100_000, io.unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("flatMap() chains of 100k steps run without stack overflow")
+    void testDeepFlatMapChainIsStackSafe() {
+        JavaIO<Integer> io = JavaIO.pure(0);
+        for (int i = 0; i < 100_000; i++) {
+            io = io.flatMap(x -> JavaIO.of(() -> x + 1));
+        }
+
+        assertEquals(100_000, io.unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("Recursive flatMap() loops run without stack overflow")
+    void testRecursiveFlatMapIsStackSafe() {
+        assertEquals(100_000, countUp(0, 100_000).unsafeRunSync());
+    }
+
+    private static JavaIO<Integer> countUp(int n, int limit) {
+        return n == limit ? JavaIO.pure(n) : JavaIO.pure(n + 1).flatMap(next -> countUp(next, limit));
+    }
+
+    @Test
+    @DisplayName("handleErrorWith() recovers from failure")
+    void testHandleErrorWithRecovers() {
+        JavaIO<String> io = JavaIO.<String>of(() -> {
+            throw new Exception("boom");
+        }).map(String::toUpperCase)
+          .handleErrorWith(e -> JavaIO.pure("recovered: " + e.getMessage()));
+
+        assertEquals("recovered: boom", io.unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("handleErrorWith() passes successful values through")
+    void testHandleErrorWithOnSuccess() {
+        JavaIO<Integer> io = JavaIO.pure(21)
+            .handleErrorWith(e -> JavaIO.pure(-1))
+            .map(x -> x * 2);
+
+        assertEquals(42, io.unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("handleErrorWith() handler failures propagate")
+    void testHandleErrorWithHandlerFails() {
+        JavaIO<Integer> io = JavaIO.<Integer>of(() -> {
+            throw new RuntimeException("first");
+        }).handleErrorWith(e -> JavaIO.of(() -> {
+            throw new IllegalStateException("second");
+        }));
+
+        JavaIO.Result<Integer> result = io.attempt();
+
+        assertFalse(result.isSuccess());
+        assertEquals("second", result.error().getMessage());
+    }
+
+    @Test
+    @DisplayName("raiseError() fails without running anything and reaches the nearest handler")
+    void testRaiseError() {
+        Exception error = new Exception("invalid");
+        AtomicInteger mapped = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.<Integer>raiseError(error).map(x -> mapped.incrementAndGet());
+
+        assertSame(error, io.attempt().error());
+        assertEquals(0, mapped.get());
+        assertEquals(-1, io.handleErrorWith(e -> JavaIO.pure(-1)).unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("recover() turns a failure into a value and passes successes through")
+    void testRecover() {
+        JavaIO<String> failed = JavaIO.<String>raiseError(new Exception("boom"))
+            .recover(e -> "recovered: " + e.getMessage())
+            .map(String::toUpperCase);
+
+        assertEquals("RECOVERED: BOOM", failed.unsafeRunSync());
+        assertEquals("ok", JavaIO.pure("ok").recover(e -> "unused").unsafeRunSync());
+        assertEquals("second", JavaIO.<String>raiseError(new Exception("first")).recover(e -> {
+            throw new IllegalStateException("second");
+        }).attempt().error().getMessage());
+    }
+
+    @Test
+    @DisplayName("A raised error is returned by attempt() and thrown by unsafeRunSync() as is")
+    void testRaiseErrorSurfaces() {
+        IllegalArgumentException error = new IllegalArgumentException("bad input");
+        JavaIO<Integer> io = JavaIO.raiseError(error);
+
+        assertSame(error, assertThrows(IllegalArgumentException.class, io::unsafeRunSync));
+        assertSame(error, io.toCompletableFuture().handle((value, e) -> e).join());
+    }
+
+    @Test
+    @DisplayName("runAsync() completes the future on the given executor")
+    void testRunAsync() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<String> future = JavaIO.of(() -> Thread.currentThread().getName())
+                .map(name -> name.isEmpty() ? "none" : "ran")
+                .runAsync(executor);
+
+            assertEquals("ran", future.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("toCompletableFuture() completes exceptionally on failure")
+    void testToCompletableFutureFailure() {
+        CompletableFuture<Integer> future = JavaIO.<Integer>of(() -> {
+            throw new Exception("async error");
+        }).toCompletableFuture();
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals("async error", thrown.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("fromCompletableFuture() is lazy and blocks only in unsafeRunSync()")
+    void testFromCompletableFutureSync() {
+        final int[] calls = {0};
+        JavaIO<Integer> io = JavaIO.fromCompletableFuture(() -> {
+            calls[0]++;
+            return CompletableFuture.supplyAsync(() -> 21);
+        }).map(x -> x * 2);
+
+        assertEquals(0, calls[0]);
+        assertEquals(42, io.unsafeRunSync());
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    @DisplayName("fromCompletableFuture() unwraps failures of the future")
+    void testFromCompletableFutureFailure() {
+        JavaIO<Integer> io = JavaIO.fromCompletableFuture(
+            CompletableFuture.failedFuture(new IllegalStateException("downstream")));
+
+        JavaIO.Result<Integer> result = io.attempt();
+
+        assertFalse(result.isSuccess());
+        assertInstanceOf(IllegalStateException.class, result.error());
+    }
+
+    @Test
+    @DisplayName("fromCompletableFuture() fails, rather than throws, when the future was cancelled")
+    void testFromCompletableFutureCancelled() {
+        CompletableFuture<Integer> cancelled = new CompletableFuture<>();
+        cancelled.cancel(true);
+        JavaIO<Integer> io = JavaIO.fromCompletableFuture(() -> cancelled);
+
+        JavaIO.Result<Integer> result = io.attempt();
+
+        assertFalse(result.isSuccess());
+        assertInstanceOf(CancellationException.class, result.error());
+        assertEquals(-1, io.recover(e -> -1).unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("runAsync() does not hold a thread while waiting on a future")
+    void testRunAsyncSuspendsOnFuture() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Integer> downstream = new CompletableFuture<>();
+            CompletableFuture<Integer> waiting = JavaIO.fromCompletableFuture(downstream)
+                .map(x -> x + 1)
+                .runAsync(executor);
+
+            // The only worker thread must be free to run a second effect meanwhile.
+            assertEquals("free", JavaIO.pure("free").runAsync(executor).get(5, TimeUnit.SECONDS));
+            assertFalse(waiting.isDone());
+
+            downstream.complete(41);
+            assertEquals(42, waiting.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("IORuntime exposes a default executor")
+    void testDefaultRuntime() throws Exception {
+        assertNotNull(IORuntime.defaultExecutor());
+        assertEquals(Runtime.version().feature() >= 21, IORuntime.usesVirtualThreads());
+        assertEquals(7, JavaIO.pure(7).toCompletableFuture().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("parTraverse() keeps input order regardless of completion order")
+    void testParTraverseKeepsOrder() {
+        List<Integer> delays = List.of(30, 10, 20, 0);
+        JavaIO<List<Integer>> io = JavaIO.parTraverse(delays, delay -> JavaIO.of(() -> {
+            Thread.sleep(delay);
+            return delay;
+        }));
+
+        assertEquals(delays, io.unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("parTraverse() never exceeds maxConcurrency")
+    void testParTraverseBoundedConcurrency() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(i);
+        }
+
+        List<Integer> result = JavaIO.parTraverse(items, i -> JavaIO.of(() -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            active.decrementAndGet();
+            return i * 2;
+        }), 3).unsafeRunSync();
+
+        assertEquals(20, result.size());
+        assertEquals(38, result.get(19));
+        assertTrue(peak.get() <= 3, "peak concurrency was " + peak.get());
+    }
+
+    @Test
+    @DisplayName("parTraverse() fails fast and cancels running siblings")
+    void testParTraverseCancelsSiblings() throws Exception {
+        CompletableFuture<Integer> gate = new CompletableFuture<>();
+        AtomicInteger siblingSteps = new AtomicInteger();
+        List<JavaIO<Integer>> effects = List.of(
+            JavaIO.fromCompletableFuture(gate).map(x -> siblingSteps.incrementAndGet()),
+            JavaIO.of(() -> {
+                throw new IllegalStateException("lookup failed");
+            }));
+
+        JavaIO.Result<List<Integer>> result = JavaIO.parSequence(effects).attempt();
+
+        assertFalse(result.isSuccess());
+        assertEquals("lookup failed", result.error().getMessage());
+        gate.complete(1);
+        Thread.sleep(50);
+        assertEquals(0, siblingSteps.get());
+    }
+
+    @Test
+    @DisplayName("parSequence() of an empty collection is an empty list")
+    void testParSequenceEmpty() {
+        assertTrue(JavaIO.parSequence(List.<JavaIO<String>>of()).unsafeRunSync().isEmpty());
+    }
+
+    @Test
+    @DisplayName("parTraverse() rejects a maxConcurrency below 1")
+    void testParTraverseRejectsZeroConcurrency() {
+        assertThrows(IllegalArgumentException.class,
+            () -> JavaIO.parTraverse(List.of(1), JavaIO::pure, 0));
+    }
+
+    @Test
+    @DisplayName("parTraverse() runs effects concurrently on the given executor")
+    void testParTraverseOnExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            JavaIO<List<String>> io = JavaIO.parTraverse(List.of("a", "b"), name -> JavaIO.of(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS) ? name : "timeout";
+            }), 2, executor);
+
+            assertEquals(List.of("a", "b"), io.unsafeRunSync());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("parZip() combines the results of two and three effects")
+    void testParZip() {
+        assertEquals("ab", JavaIO.parZip(JavaIO.pure("a"), JavaIO.of(() -> "b"), String::concat).unsafeRunSync());
+        assertEquals(6, JavaIO.parZip(JavaIO.pure(1), JavaIO.pure(2), JavaIO.pure(3),
+            (x, y, z) -> x + y + z).unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("parZip() fails if either effect fails")
+    void testParZipFailure() {
+        JavaIO<Integer> io = JavaIO.parZip(JavaIO.pure(1), JavaIO.<Integer>of(() -> {
+            throw new Exception("right failed");
+        }), Integer::sum);
+
+        assertEquals("right failed", io.attempt().error().getMessage());
+    }
+
+    @Test
+    @DisplayName("memoize() runs the effect once and replays the result")
+    void testMemoize() {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.of(runs::incrementAndGet).memoize();
+
+        assertEquals(0, runs.get());
+        assertEquals(1, io.unsafeRunSync());
+        assertEquals(1, io.unsafeRunSync());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("memoize() evaluates once under concurrent callers")
+    void testMemoizeSingleFlight() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<String> io = JavaIO.of(() -> {
+            runs.incrementAndGet();
+            Thread.sleep(50);
+            return "token";
+        }).memoize();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                callers.add(CompletableFuture.supplyAsync(io::unsafeRunSync, executor));
+            }
+            for (CompletableFuture<String> caller : callers) {
+                assertEquals("token", caller.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("memoize() does not cache failures")
+    void testMemoizeDoesNotCacheFailures() {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.of(() -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new Exception("transient");
+            }
+            return 42;
+        }).memoize();
+
+        assertFalse(io.attempt().isSuccess());
+        assertEquals(42, io.unsafeRunSync());
+        assertEquals(42, io.unsafeRunSync());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("cached() re-runs the effect once the TTL has elapsed")
+    void testCachedTtl() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.of(runs::incrementAndGet).cached(Duration.ofMillis(50));
+
+        assertEquals(1, io.unsafeRunSync());
+        assertEquals(1, io.unsafeRunSync());
+        Thread.sleep(80);
+        assertEquals(2, io.unsafeRunSync());
+        assertThrows(IllegalArgumentException.class, () -> io.cached(Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("sleep() completes after the duration")
+    void testSleep() {
+        long start = System.nanoTime();
+        JavaIO.sleep(Duration.ofMillis(30)).unsafeRunSync();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    @DisplayName("retry() runs the effect again until it succeeds")
+    void testRetrySucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+        JavaIO<String> io = JavaIO.of(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new Exception("flaky");
+            }
+            return "ok";
+        }).retry(Schedule.exponential(Duration.ofMillis(1)).maxRetries(5));
+
+        assertEquals("ok", io.unsafeRunSync());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("retry() gives up with the last error once the schedule is exhausted")
+    void testRetryExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+        JavaIO<String> io = JavaIO.<String>of(() -> {
+            throw new Exception("attempt " + attempts.incrementAndGet());
+        }).retry(Schedule.recurs(2));
+
+        assertEquals("attempt 3", io.attempt().error().getMessage());
+    }
+
+    @Test
+    @DisplayName("retry() waits without holding a thread")
+    void testRetryDoesNotBlockWorker() throws Exception {
+        FiberScheduler singleWorker = new FiberScheduler(1);
+        try {
+            AtomicInteger attempts = new AtomicInteger();
+            Fiber<String> retrying = JavaIO.<String>of(() -> {
+                if (attempts.incrementAndGet() < 2) {
+                    throw new Exception("flaky");
+                }
+                return "recovered";
+            }).retry(Schedule.fixed(Duration.ofMillis(200)).maxRetries(1)).start(singleWorker);
+            while (attempts.get() == 0) {
+                Thread.onSpinWait();
+            }
+
+            Fiber<String> other = JavaIO.pure("not blocked").start(singleWorker);
+            assertEquals("not blocked", other.toCompletableFuture().get(100, TimeUnit.MILLISECONDS));
+            assertFalse(retrying.isDone());
+            assertEquals("recovered", retrying.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        } finally {
+            singleWorker.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("repeat() runs the effect again after each success")
+    void testRepeat() {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.of(runs::incrementAndGet).repeat(Schedule.recurs(4));
+
+        assertEquals(5, io.unsafeRunSync());
+        assertEquals(5, runs.get());
+    }
+
+    @Test
+    @DisplayName("repeat() stops at the first failure")
+    void testRepeatStopsOnFailure() {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.of(() -> {
+            if (runs.incrementAndGet() == 2) {
+                throw new Exception("second run failed");
+            }
+            return runs.get();
+        }).repeat(Schedule.fixed(Duration.ofMillis(1)));
+
+        assertEquals("second run failed", io.attempt().error().getMessage());
+        assertEquals(2, runs.get());
+    }
+
+    private static JavaIO<String> blockUntilInterrupted(CountDownLatch started, CountDownLatch interrupted) {
+        return JavaIO.of(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                return "finished";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("timeout() returns the result of an effect that finishes in time")
+    void testTimeoutInTime() {
+        assertEquals(42, JavaIO.of(() -> 42).timeout(Duration.ofSeconds(5)).unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("timeout() fails with TimeoutException and interrupts a stuck supplier")
+    void testTimeoutInterrupts() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        JavaIO<String> io = blockUntilInterrupted(started, interrupted).timeout(Duration.ofMillis(50));
+
+        assertInstanceOf(TimeoutException.class, io.attempt().error());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("timeoutTo() switches to the fallback when time is up")
+    void testTimeoutTo() {
+        JavaIO<String> io = JavaIO.sleep(Duration.ofSeconds(10)).map(ignored -> "slow")
+            .timeoutTo(Duration.ofMillis(20), JavaIO.pure("fallback"));
+
+        assertEquals("fallback", io.unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("race() returns the faster effect and interrupts the loser")
+    void testRaceInterruptsLoser() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            JavaIO<String> winner = JavaIO.sleep(Duration.ofMillis(20)).map(ignored -> "fast");
+
+            assertEquals("fast", JavaIO.race(blockUntilInterrupted(started, interrupted), winner, executor)
+                .unsafeRunSync());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("race() fails if the first effect to finish fails")
+    void testRaceFailure() {
+        JavaIO<String> slow = JavaIO.sleep(Duration.ofSeconds(10)).map(ignored -> "slow");
+        JavaIO<String> failing = JavaIO.of(() -> {
+            throw new Exception("lost fast");
+        });
+
+        assertEquals("lost fast", JavaIO.race(slow, failing).attempt().error().getMessage());
+    }
+
+    @Test
+    @DisplayName("Cancelling a run cancels the future it waits on but not a shared one")
+    void testCancelPropagatesToOwnedFuture() throws Exception {
+        CompletableFuture<String> owned = new CompletableFuture<>();
+        CompletableFuture<String> shared = new CompletableFuture<>();
+        CompletableFuture<String> ownedRun = JavaIO.fromCompletableFuture(() -> owned).toCompletableFuture();
+        CompletableFuture<String> sharedRun = JavaIO.fromCompletableFuture(shared).toCompletableFuture();
+        Thread.sleep(20);
+
+        ownedRun.cancel(false);
+        sharedRun.cancel(false);
+
+        assertTrue(owned.isCancelled());
+        assertFalse(shared.isDone());
+    }
+
+    private static Function<String, JavaIO<Void>> recordRelease(List<String> log) {
+        return resource -> JavaIO.of(() -> {
+            log.add("release " + resource);
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("bracket() releases the resource after a successful use")
+    void testBracketSuccess() {
+        List<String> log = new ArrayList<>();
+        JavaIO<Integer> io = JavaIO.bracket(JavaIO.pure("conn"), conn -> JavaIO.of(conn::length), recordRelease(log));
+
+        assertEquals(4, io.unsafeRunSync());
+        assertEquals(List.of("release conn"), log);
+    }
+
+    @Test
+    @DisplayName("bracket() releases the resource and keeps the error after a failed use")
+    void testBracketFailure() {
+        List<String> log = new ArrayList<>();
+        JavaIO<Integer> io = JavaIO.bracket(JavaIO.pure("conn"), conn -> JavaIO.of(() -> {
+            throw new Exception("use failed");
+        }), recordRelease(log));
+
+        assertEquals("use failed", io.attempt().error().getMessage());
+        assertEquals(List.of("release conn"), log);
+    }
+
+    @Test
+    @DisplayName("bracket() does not release when acquisition fails")
+    void testBracketAcquireFailure() {
+        List<String> log = new ArrayList<>();
+        JavaIO<Integer> io = JavaIO.bracket(JavaIO.<String>of(() -> {
+            throw new Exception("acquire failed");
+        }), conn -> JavaIO.pure(1), recordRelease(log));
+
+        assertEquals("acquire failed", io.attempt().error().getMessage());
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    @DisplayName("bracket() surfaces a release failure, suppressed under a use failure")
+    void testBracketReleaseFailure() {
+        Function<String, JavaIO<Void>> failingRelease = conn -> JavaIO.of(() -> {
+            throw new Exception("release failed");
+        });
+
+        JavaIO<Integer> succeeds = JavaIO.bracket(JavaIO.pure("conn"), conn -> JavaIO.pure(1), failingRelease);
+        assertEquals("release failed", succeeds.attempt().error().getMessage());
+
+        JavaIO<Integer> fails = JavaIO.bracket(JavaIO.pure("conn"), conn -> JavaIO.of(() -> {
+            throw new Exception("use failed");
+        }), failingRelease);
+        Exception error = fails.attempt().error();
+        assertEquals("use failed", error.getMessage());
+        assertEquals("release failed", error.getSuppressed()[0].getMessage());
+    }
+
+    @Test
+    @DisplayName("bracket() releases nested resources in reverse order when cancelled")
+    void testBracketCancelled() throws Exception {
+        List<String> log = new CopyOnWriteArrayList<>();
+        CountDownLatch inUse = new CountDownLatch(1);
+        JavaIO<Void> io = JavaIO.bracket(JavaIO.pure("outer"), outer ->
+            JavaIO.bracket(JavaIO.pure("inner"), inner -> JavaIO.of(() -> {
+                inUse.countDown();
+                return null;
+            }).flatMap(ignored -> JavaIO.sleep(Duration.ofSeconds(10))), recordRelease(log)), recordRelease(log));
+
+        Fiber<Void> fiber = io.start();
+        assertTrue(inUse.await(5, TimeUnit.SECONDS));
+        fiber.cancel();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (log.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of("release inner", "release outer"), log);
+    }
+
+    @Test
+    @DisplayName("timeout() releases the resources of the effect it cancels")
+    void testTimeoutReleases() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        JavaIO<String> io = JavaIO.bracket(JavaIO.pure("conn"), conn -> JavaIO.sleep(Duration.ofSeconds(10))
+            .map(ignored -> conn), conn -> JavaIO.of(() -> {
+                released.countDown();
+                return null;
+            }));
+
+        assertInstanceOf(TimeoutException.class, io.timeout(Duration.ofMillis(20)).attempt().error());
+        assertTrue(released.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("memoize() recovers when the evaluating caller is cancelled")
+    void testMemoizeLeaderCancelled() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.of(runs::incrementAndGet)
+            .flatMap(n -> n == 1 ? JavaIO.sleep(Duration.ofSeconds(10)).map(ignored -> n) : JavaIO.pure(n))
+            .memoize();
+
+        Fiber<Integer> leader = io.start();
+        while (runs.get() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<Integer> follower = io.toCompletableFuture();
+        Thread.sleep(20);
+        leader.cancel();
+
+        assertEquals(2, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, io.unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("async() completes from a callback on another thread")
+    void testAsyncCallback() throws Exception {
+        AtomicInteger registrations = new AtomicInteger();
+        JavaIO<String> io = JavaIO.async(callback -> {
+            registrations.incrementAndGet();
+            new Thread(() -> {
+                callback.succeed("done");
+                callback.fail(new IllegalStateException("ignored"));
+            }).start();
+        });
+
+        assertEquals(0, registrations.get());
+        assertEquals("done", io.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals("done", io.unsafeRunSync());
+        assertEquals(2, registrations.get());
+    }
+
+    @Test
+    @DisplayName("async() fails with the callback's error or the registration's exception")
+    void testAsyncFailure() {
+        IllegalStateException boom = new IllegalStateException("boom");
+
+        assertSame(boom, JavaIO.<String>async(callback -> callback.fail(boom)).attempt().error());
+        assertSame(boom, JavaIO.<String>async(callback -> {
+            throw boom;
+        }).attempt().error());
+    }
+
+    @Test
+    @DisplayName("timed() pairs the result with the time the effect took")
+    void testTimed() {
+        Timed<String> timed = JavaIO.sleep(Duration.ofMillis(20)).map(ignored -> "done").timed().unsafeRunSync();
+
+        assertEquals("done", timed.value());
+        assertTrue(timed.elapsed().compareTo(Duration.ofMillis(20)) >= 0);
+    }
+
     @Test
     @DisplayName("Result.success() creates success result")
     void testResultSuccess() {
@@ -260,6 +1004,47 @@ class JavaIOTest {
         assertEquals(ex, result.error());
     }
 
+    @Test
+    @DisplayName("Result.success() shares instances for null, booleans and empty optionals")
+    void testResultSingletons() {
+        assertSame(JavaIO.Result.success(null), JavaIO.pure((Void) null).attempt());
+        assertSame(JavaIO.Result.success(true), JavaIO.pure(true).attempt());
+        assertSame(JavaIO.Result.success(Optional.empty()), JavaIO.pure(Optional.empty()).attempt());
+        assertNotSame(JavaIO.Result.success("a"), JavaIO.Result.success("a"));
+    }
+
+    @Test
+    @DisplayName("IOExecutionException.stackless() keeps the cause but captures no stack trace")
+    void testStacklessExecutionException() {
+        Exception cause = new Exception("cause");
+        JavaIO.IOExecutionException error = JavaIO.IOExecutionException.stackless("wrapped", cause);
+
+        assertSame(cause, error.getCause());
+        assertEquals(0, error.getStackTrace().length);
+        assertTrue(cause.getStackTrace().length > 0);
+    }
+
+    @Test
+    @DisplayName("IOExecutionException captures a stack trace unless asked not to")
+    void testExecutionExceptionStackTraceOptIn() {
+        Exception cause = new Exception("cause");
+
+        assertTrue(new JavaIO.IOExecutionException("wrapped", cause).getStackTrace().length > 0);
+        assertTrue(new JavaIO.IOExecutionException("wrapped", cause, true).getStackTrace().length > 0);
+        assertEquals(0, new JavaIO.IOExecutionException("wrapped", cause, false).getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("unsafeRunSync() wraps a checked failure with the caller's stack trace")
+    void testUnsafeRunSyncKeepsCallerTrace() {
+        JavaIO<String> io = JavaIO.of(() -> { throw new Exception("checked error"); });
+
+        JavaIO.IOExecutionException thrown =
+            assertThrows(JavaIO.IOExecutionException.class, io::unsafeRunSync);
+
+        assertTrue(thrown.getStackTrace().length > 0);
+    }
+
     @Test
     @DisplayName("CheckedSupplier can throw exceptions")
     void testCheckedSupplier() {
@@ -0,0 +1,163 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyListTest {
+
+    @Test
+    @DisplayName("Cells are computed on first access and only once")
+    void testMemoizesCells() {
+        AtomicInteger computed = new AtomicInteger();
+        LazyList<Integer> squares = LazyList.iterate(0, x -> x + 1).map(x -> {
+            computed.incrementAndGet();
+            return x * x;
+        });
+
+        assertEquals(0, computed.get());
+        assertEquals(List.of(0, 1, 4, 9), squares.take(4).toList());
+        assertEquals(4, computed.get());
+        assertEquals(List.of(0, 1, 4, 9, 16), squares.take(5).toList());
+        assertEquals(5, computed.get());
+    }
+
+    @Test
+    @DisplayName("Operations on an infinite list stay lazy")
+    void testInfiniteList() {
+        LazyList<Integer> naturals = LazyList.iterate(1, x -> x + 1);
+        LazyList<Integer> result = naturals
+            .filter(x -> x % 3 == 0)
+            .flatMap(x -> LazyList.of(x, -x))
+            .drop(2)
+            .takeWhile(x -> Math.abs(x) < 15)
+            .take(100);
+
+        assertEquals(List.of(6, -6, 9, -9, 12, -12), result.toList());
+        assertEquals(List.of(1, 2, 3, 10, 11), naturals.take(3).concat(LazyList.of(10, 11)).toList());
+    }
+
+    @Test
+    @DisplayName("take does not compute the cell after the last value taken")
+    void testTakeStopsEarly() {
+        AtomicInteger pulled = new AtomicInteger();
+        LazyList<Integer> list = LazyList.from(() -> new java.util.Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return pulled.incrementAndGet();
+            }
+        });
+
+        assertEquals(List.of(1, 2, 3), list.take(3).toList());
+        assertEquals(3, pulled.get());
+        assertTrue(list.take(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Concurrent readers share one evaluation of each cell")
+    void testConcurrentFirstEvaluation() throws Exception {
+        AtomicInteger computed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        LazyList<Integer> list = LazyList.iterate(0, x -> x + 1).take(1_000).map(x -> {
+            computed.incrementAndGet();
+            return x;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> sums = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                sums.add(pool.submit(() -> {
+                    start.await();
+                    return list.fold(0, Integer::sum);
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> sum : sums) {
+                assertEquals(499_500, sum.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1_000, computed.get());
+    }
+
+    @Test
+    @DisplayName("A failed cell is not remembered and is computed again on the next read")
+    void testFailureIsNotMemoized() {
+        AtomicInteger attempts = new AtomicInteger();
+        LazyList<Integer> list = LazyList.defer(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt");
+            }
+            return LazyList.of(42);
+        });
+
+        assertThrows(IllegalStateException.class, list::head);
+        assertEquals(42, list.head());
+        assertEquals(42, list.head());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("fromEffect runs the effect once per cell until it comes back empty")
+    void testFromEffect() {
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Optional<Integer>> next = JavaIO.of(() -> {
+            int n = runs.incrementAndGet();
+            return n <= 3 ? Optional.of(n) : Optional.empty();
+        });
+        LazyList<Integer> list = LazyList.fromEffect(next);
+
+        assertEquals(0, runs.get());
+        assertEquals(1, list.head());
+        assertEquals(List.of(1, 2, 3), list.toList());
+        assertEquals(List.of(1, 2, 3), list.toList());
+        assertEquals(4, runs.get());
+    }
+
+    @Test
+    @DisplayName("Empty lists, iteration and toString")
+    void testBasics() {
+        LazyList<String> empty = LazyList.empty();
+        assertTrue(empty.isEmpty());
+        assertThrows(NoSuchElementException.class, empty::head);
+        assertThrows(NoSuchElementException.class, empty::tail);
+        assertThrows(NoSuchElementException.class, () -> empty.iterator().next());
+
+        LazyList<String> letters = LazyList.of("a", "b", "c");
+        assertEquals("LazyList(<not computed>)", letters.toString());
+        assertEquals("a", letters.head());
+        assertEquals("LazyList(a, <not computed>)", letters.toString());
+        List<String> seen = new ArrayList<>();
+        letters.forEach(seen::add);
+        assertEquals(List.of("a", "b", "c"), seen);
+        assertEquals("LazyList(a, b, c)", letters.toString());
+        assertSame(letters, LazyList.from(letters));
+    }
+
+    @Test
+    @DisplayName("Long lists are traversed and filtered without deep recursion")
+    void testStackSafety() {
+        LazyList<Integer> list = LazyList.iterate(0, x -> x + 1).take(1_000_000);
+
+        assertEquals(999_999, list.filter(x -> x == 999_999).head());
+        assertEquals(1_000_000L, list.fold(0L, (acc, x) -> acc + 1));
+        assertTrue(list.drop(1_000_000).isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyViewTest {
+
+    private static Iterable<Integer> counting(AtomicInteger pulled, int size) {
+        return () -> new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Integer next() {
+                pulled.incrementAndGet();
+                return next++;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("map, filter and take run in one pass and stop pulling once satisfied")
+    void testFusedPass() {
+        AtomicInteger pulled = new AtomicInteger();
+        List<String> order = new ArrayList<>();
+        LazyView<Integer> view = LazyView.of(counting(pulled, 1_000))
+            .map(x -> {
+                order.add("map " + x);
+                return x * 10;
+            })
+            .filter(x -> {
+                order.add("filter " + x);
+                return x % 20 == 0;
+            })
+            .take(2);
+
+        assertEquals(0, pulled.get());
+        assertEquals(List.of(0, 20), view.toList());
+        assertEquals(3, pulled.get());
+        assertEquals(List.of("map 0", "filter 0", "map 1", "filter 10", "map 2", "filter 20"), order);
+    }
+
+    @Test
+    @DisplayName("Views remember nothing: each traversal reruns the steps")
+    void testNotMemoized() {
+        AtomicInteger mapped = new AtomicInteger();
+        LazyView<Integer> view = LazyView.of(1, 2, 3).map(x -> {
+            mapped.incrementAndGet();
+            return x + 1;
+        });
+
+        assertEquals(List.of(2, 3, 4), view.toList());
+        assertEquals(9, view.fold(0, Integer::sum));
+        assertEquals(6, mapped.get());
+    }
+
+    @Test
+    @DisplayName("Consecutive maps fuse into one stage and keep their order")
+    void testMapFusion() {
+        LazyView<Integer> view = LazyView.of(1, 2, 3);
+        for (int i = 0; i < 100; i++) {
+            view = view.map(x -> x + 1);
+        }
+        LazyView<String> described = view.map(x -> x * 2).map(x -> "#" + x);
+
+        assertEquals(List.of("#202", "#204", "#206"), described.toList());
+    }
+
+    @Test
+    @DisplayName("An infinite view is fine once cut short by take or takeWhile")
+    void testInfiniteSource() {
+        LazyView<Long> powers = LazyView.iterate(1L, x -> x * 2);
+
+        assertEquals(List.of(1L, 2L, 4L, 8L), powers.take(4).toList());
+        assertEquals(10, powers.takeWhile(x -> x < 1_000).count());
+        assertEquals(List.of(16L, 32L), powers.drop(4).take(2).toList());
+    }
+
+    @Test
+    @DisplayName("Every traversal has its own take and drop counters")
+    void testIndependentTraversals() {
+        LazyView<Integer> view = LazyView.of(1, 2, 3, 4, 5).drop(1).take(2);
+        Iterator<Integer> first = view.iterator();
+        Iterator<Integer> second = view.iterator();
+
+        assertEquals(2, first.next());
+        assertEquals(2, second.next());
+        assertEquals(3, first.next());
+        assertFalse(first.hasNext());
+        assertThrows(NoSuchElementException.class, first::next);
+        assertEquals(3, second.next());
+        assertTrue(view.take(0).toList().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A view converts to a memoizing LazyList and to an IOStream")
+    void testConversions() {
+        AtomicInteger pulled = new AtomicInteger();
+        LazyView<Integer> view = LazyView.of(counting(pulled, 10)).filter(x -> x % 2 == 1);
+        LazyList<Integer> list = view.toLazyList();
+
+        assertEquals(1, list.head());
+        assertEquals(List.of(1, 3, 5, 7, 9), list.toList());
+        assertEquals(List.of(1, 3, 5, 7, 9), list.toList());
+        assertEquals(10, pulled.get());
+        assertEquals(25, view.toStream().fold(0, Integer::sum).unsafeRunSync());
+        assertEquals(List.of(3, 5), LazyList.of(1, 2, 3, 4, 5).view().filter(x -> x % 2 == 1).drop(1).toList());
+    }
+}
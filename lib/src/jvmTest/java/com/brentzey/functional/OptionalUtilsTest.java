@@ -161,6 +161,18 @@ class OptionalUtilsTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("sequence() stops at the first empty optional instead of skipping it")
+    void testSequenceDoesNotSkipEmpty() {
+        List<Optional<String>> optionals = new ArrayList<>();
+        optionals.add(Optional.of("a"));
+        optionals.add(Optional.empty());
+        optionals.add(null);
+
+        assertEquals(Optional.empty(), OptionalUtils.sequence(optionals));
+        assertEquals(Optional.of(List.of()), OptionalUtils.sequence(List.<Optional<String>>of()));
+    }
+
     @Test
     @DisplayName("sequence() with empty list returns empty list")
     void testSequenceEmptyList() {
@@ -253,5 +265,47 @@ class OptionalUtilsTest {
         
         assertEquals(10, sum.apply(2, 3, 5));
     }
-}
 
+    @Test
+    @DisplayName("zip() on OptionalInt/Long/Double combines present values")
+    void testZipPrimitive() {
+        assertEquals(OptionalInt.of(5), OptionalUtils.zip(OptionalInt.of(2), OptionalInt.of(3), Integer::sum));
+        assertEquals(OptionalLong.of(6L), OptionalUtils.zip(OptionalLong.of(2), OptionalLong.of(3), (x, y) -> x * y));
+        assertEquals(OptionalDouble.of(1.5),
+            OptionalUtils.zip(OptionalDouble.of(3), OptionalDouble.of(2), (x, y) -> x / y));
+    }
+
+    @Test
+    @DisplayName("zip() on OptionalInt/Long/Double is empty if either is empty")
+    void testZipPrimitiveEmpty() {
+        assertTrue(OptionalUtils.zip(OptionalInt.empty(), OptionalInt.of(3), Integer::sum).isEmpty());
+        assertTrue(OptionalUtils.zip(OptionalLong.of(2), OptionalLong.empty(), Long::sum).isEmpty());
+        assertTrue(OptionalUtils.zip(OptionalDouble.empty(), OptionalDouble.empty(), Double::sum).isEmpty());
+    }
+
+    @Test
+    @DisplayName("sequenceInt/Long/Double() collect present values into an array")
+    void testSequencePrimitive() {
+        assertArrayEquals(new int[] {1, 2},
+            OptionalUtils.sequenceInt(List.of(OptionalInt.of(1), OptionalInt.of(2))).get());
+        assertArrayEquals(new long[] {3L}, OptionalUtils.sequenceLong(List.of(OptionalLong.of(3))).get());
+        assertArrayEquals(new double[0], OptionalUtils.sequenceDouble(List.of()).get());
+    }
+
+    @Test
+    @DisplayName("sequenceInt/Long/Double() are empty if any element is empty")
+    void testSequencePrimitiveEmpty() {
+        assertTrue(OptionalUtils.sequenceInt(List.of(OptionalInt.of(1), OptionalInt.empty())).isEmpty());
+        assertTrue(OptionalUtils.sequenceLong(List.of(OptionalLong.empty())).isEmpty());
+        assertTrue(OptionalUtils.sequenceDouble(List.of(OptionalDouble.of(1), OptionalDouble.empty())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("fold() on OptionalInt/Long/Double picks the right branch")
+    void testFoldPrimitive() {
+        assertEquals(4, OptionalUtils.fold(OptionalInt.of(2), () -> 0, x -> x * 2));
+        assertEquals(0, OptionalUtils.fold(OptionalInt.empty(), () -> 0, x -> x * 2));
+        assertEquals(7L, OptionalUtils.fold(OptionalLong.of(6), () -> -1L, x -> x + 1));
+        assertEquals(-1.0, OptionalUtils.fold(OptionalDouble.empty(), () -> -1.0, x -> x + 1));
+    }
+}
@@ -0,0 +1,163 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentMapTest {
+
+    /**
+     * A key whose hash code is chosen by the test, to force collisions.
+     */
+    private record Key(int id, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && key.id == id;
+        }
+    }
+
+    @Test
+    @DisplayName("plus and minus leave the original map unchanged")
+    void testPlusMinusArePersistent() {
+        PersistentMap<String, Integer> map = PersistentMap.of("a", 1);
+        PersistentMap<String, Integer> more = map.plus("b", 2);
+        PersistentMap<String, Integer> less = more.minus("a");
+
+        assertEquals(Map.of("a", 1), map);
+        assertEquals(Map.of("a", 1, "b", 2), more);
+        assertEquals(Map.of("b", 2), less);
+        assertSame(less, less.minus("missing"));
+        assertSame(more, more.plus("a", 1));
+        assertTrue(more.minus("a").minus("b").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A large map is looked up, replaced into and emptied correctly")
+    void testLargeMap() {
+        PersistentMap.Transient<Integer, Integer> builder = PersistentMap.builder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.put(i, i * 2);
+        }
+        PersistentMap<Integer, Integer> map = builder.persistent();
+        PersistentMap<Integer, Integer> changed = map.plus(500, -1).minus(501);
+
+        assertEquals(100_000, map.size());
+        assertEquals(1_000, map.get(500));
+        assertEquals(1_002, map.get(501));
+        assertEquals(-1, changed.get(500));
+        assertNull(changed.get(501));
+        assertEquals(99_999, changed.size());
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            sum += entry.getValue();
+        }
+        assertEquals(99_999L * 100_000L, sum);
+    }
+
+    @Test
+    @DisplayName("Keys with equal hash codes share a collision node and stay distinct")
+    void testCollisions() {
+        PersistentMap<Key, String> map = PersistentMap.empty();
+        for (int i = 0; i < 10; i++) {
+            map = map.plus(new Key(i, 7), "v" + i);
+        }
+        map = map.plus(new Key(100, 7 + 32), "near").plus(new Key(3, 7), "three");
+
+        assertEquals(11, map.size());
+        assertEquals("three", map.get(new Key(3, 7)));
+        assertEquals("near", map.get(new Key(100, 39)));
+        assertNull(map.get(new Key(11, 7)));
+
+        PersistentMap<Key, String> fewer = map;
+        for (int i = 0; i < 10; i++) {
+            fewer = fewer.minus(new Key(i, 7));
+        }
+        assertEquals(Map.of(new Key(100, 39), "near"), fewer);
+    }
+
+    @Test
+    @DisplayName("A transient leaves its source alone and cannot be used after persistent()")
+    void testTransient() {
+        PersistentMap<String, Integer> source = PersistentMap.<String, Integer>empty().plus("a", 1).plus("b", 2);
+        PersistentMap.Transient<String, Integer> transientMap = source.toTransient();
+        transientMap.put("a", 10).put("c", 3).remove("b").remove("missing");
+        PersistentMap<String, Integer> result = transientMap.persistent();
+
+        assertEquals(Map.of("a", 1, "b", 2), source);
+        assertEquals(Map.of("a", 10, "c", 3), result);
+        assertEquals(2, result.size());
+        assertThrows(IllegalStateException.class, () -> transientMap.put("d", 4));
+        assertThrows(IllegalStateException.class, transientMap::persistent);
+    }
+
+    @Test
+    @DisplayName("Random updates, persistent and transient, agree with a HashMap")
+    void testAgainstHashMap() {
+        Random random = new Random(7);
+        Map<Key, Integer> expected = new HashMap<>();
+        PersistentMap<Key, Integer> map = PersistentMap.empty();
+        PersistentMap.Transient<Key, Integer> batch = null;
+        for (int step = 0; step < 50_000; step++) {
+            // Few distinct hashes, so collisions and deep paths are common.
+            int id = random.nextInt(3_000);
+            Key key = new Key(id, id % 700 * 0x9E3779B1);
+            boolean put = random.nextInt(3) > 0;
+            if (put) {
+                expected.put(key, step);
+            } else {
+                expected.remove(key);
+            }
+            // Alternate runs of 500 persistent updates with runs of 500 transient ones.
+            int phase = step % 1_000;
+            if (phase < 500) {
+                map = put ? map.plus(key, step) : map.minus(key);
+                continue;
+            }
+            if (phase == 500) {
+                batch = map.toTransient();
+            }
+            if (put) {
+                batch.put(key, step);
+            } else {
+                batch.remove(key);
+            }
+            assertEquals(expected.size(), batch.size());
+            if (phase == 999) {
+                map = batch.persistent();
+            }
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(expected.size(), map.entrySet().size());
+        assertEquals(map, PersistentMap.from(expected));
+    }
+
+    @Test
+    @DisplayName("Null keys and values are rejected and mutating Map methods are unsupported")
+    void testMapContract() {
+        PersistentMap<String, Integer> map = PersistentMap.of("a", 1);
+
+        assertThrows(NullPointerException.class, () -> map.plus(null, 1));
+        assertThrows(NullPointerException.class, () -> map.plus("b", null));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", 2));
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(null));
+        assertEquals(5, map.getOrDefault("z", 5));
+        assertSame(map, PersistentMap.from(map));
+        assertTrue(map.entrySet().contains(Map.entry("a", 1)));
+        assertFalse(map.entrySet().contains(Map.entry("a", 2)));
+
+        Map<String, Integer> seen = new HashMap<>();
+        map.plusAll(Map.of("b", 2, "c", 3)).forEach(seen::put);
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), seen);
+    }
+}
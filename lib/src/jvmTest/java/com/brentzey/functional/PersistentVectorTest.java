@@ -0,0 +1,150 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentVectorTest {
+
+    private static PersistentVector<Integer> range(int n) {
+        PersistentVector.Transient<Integer> builder = PersistentVector.builder();
+        for (int i = 0; i < n; i++) {
+            builder.add(i);
+        }
+        return builder.persistent();
+    }
+
+    @Test
+    @DisplayName("Appending leaves the original vector unchanged")
+    void testPlusIsPersistent() {
+        PersistentVector<String> names = PersistentVector.of("ada", "grace");
+        PersistentVector<String> more = names.plus("barbara");
+
+        assertEquals(List.of("ada", "grace"), names);
+        assertEquals(List.of("ada", "grace", "barbara"), more);
+        assertEquals(List.of("ada"), PersistentVector.of("ada"));
+        assertTrue(PersistentVector.empty().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Values are found at every size across tail, leaf and root growth")
+    void testGetAcrossLevels() {
+        PersistentVector<Integer> appended = PersistentVector.empty();
+        for (int i = 0; i < 40_000; i++) {
+            appended = appended.plus(i);
+        }
+        PersistentVector<Integer> vector = appended;
+
+        assertEquals(40_000, vector.size());
+        for (int i = 0; i < vector.size(); i += 7) {
+            assertEquals(i, vector.get(i));
+        }
+        assertEquals(39_999, vector.get(39_999));
+        assertEquals(range(40_000), vector);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(40_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(-1));
+    }
+
+    @Test
+    @DisplayName("with replaces one value and shares the rest")
+    void testWith() {
+        PersistentVector<Integer> vector = range(2_000);
+        PersistentVector<Integer> changed = vector.with(5, -5).with(1_999, -1);
+
+        assertEquals(5, vector.get(5));
+        assertEquals(-5, changed.get(5));
+        assertEquals(-1, changed.get(1_999));
+        assertEquals(6, changed.get(6));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.with(2_000, 0));
+    }
+
+    @Test
+    @DisplayName("pop removes the last value down to empty, shrinking the tree")
+    void testPop() {
+        PersistentVector<Integer> vector = range(1_100);
+        for (int n = 1_100; n > 0; n--) {
+            assertEquals(n, vector.size());
+            assertEquals(n - 1, vector.get(n - 1));
+            vector = vector.pop();
+        }
+
+        assertTrue(vector.isEmpty());
+        PersistentVector<Integer> empty = vector;
+        assertThrows(NoSuchElementException.class, empty::pop);
+    }
+
+    @Test
+    @DisplayName("A transient leaves its source alone and cannot be used after persistent()")
+    void testTransient() {
+        PersistentVector<Integer> source = range(100);
+        PersistentVector.Transient<Integer> transientVector = source.toTransient();
+        transientVector.set(0, -1).set(99, -99).add(100);
+        PersistentVector<Integer> result = transientVector.persistent();
+
+        assertEquals(0, source.get(0));
+        assertEquals(100, source.size());
+        assertEquals(-1, result.get(0));
+        assertEquals(-99, result.get(99));
+        assertEquals(101, result.size());
+        assertThrows(IllegalStateException.class, () -> transientVector.add(1));
+        assertThrows(IllegalStateException.class, transientVector::persistent);
+    }
+
+    @Test
+    @DisplayName("Versions built from one vector do not see each other's changes")
+    void testBranchesAreIndependent() {
+        PersistentVector<Integer> base = range(1_056);
+        PersistentVector<Integer> left = base.toTransient().add(-1).set(10, -10).persistent();
+        PersistentVector<Integer> right = base.plus(-2).with(10, -20);
+
+        assertEquals(-1, left.get(1_056));
+        assertEquals(-10, left.get(10));
+        assertEquals(-2, right.get(1_056));
+        assertEquals(-20, right.get(10));
+        assertEquals(10, base.get(10));
+        assertEquals(1_056, base.size());
+    }
+
+    @Test
+    @DisplayName("Random updates agree with an ArrayList")
+    void testAgainstArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int step = 0; step < 20_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 6 || expected.isEmpty()) {
+                expected.add(step);
+                vector = vector.plus(step);
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -step);
+                vector = vector.with(index, -step);
+            } else {
+                expected.remove(expected.size() - 1);
+                vector = vector.pop();
+            }
+        }
+
+        assertEquals(expected, vector);
+        assertEquals(expected.hashCode(), vector.hashCode());
+        assertEquals(expected, PersistentVector.from(expected));
+    }
+
+    @Test
+    @DisplayName("Mutating List methods are unsupported and null elements are kept")
+    void testListContract() {
+        PersistentVector<String> vector = PersistentVector.of("a", null, "c");
+
+        assertNull(vector.get(1));
+        assertEquals(1, vector.indexOf(null));
+        assertThrows(UnsupportedOperationException.class, () -> vector.add("d"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.set(0, "z"));
+        assertSame(vector, PersistentVector.from(vector));
+        assertEquals(List.of("a", "c", "x", "y"), PersistentVector.of("a", "c").plusAll(List.of("x", "y")));
+    }
+}
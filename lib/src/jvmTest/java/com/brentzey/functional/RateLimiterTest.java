@@ -0,0 +1,46 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    @DisplayName("A full bucket lets a burst through, then refills one permit per interval")
+    void testBurstThenRefill() {
+        RateLimiter limiter = RateLimiter.of(10, Duration.ofSeconds(1), 3);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("rateLimited() waits for a permit instead of failing")
+    void testRateLimitedWaits() {
+        RateLimiter limiter = RateLimiter.of(1, Duration.ofMillis(50));
+        AtomicInteger runs = new AtomicInteger();
+        JavaIO<Integer> io = JavaIO.of(runs::incrementAndGet).rateLimited(limiter);
+
+        long start = System.nanoTime();
+        io.unsafeRunSync();
+        io.toCompletableFuture().join();
+        int last = io.unsafeRunSync();
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(3, last);
+        assertTrue(elapsed >= Duration.ofMillis(100).toNanos(), "took " + elapsed + "ns");
+    }
+
+    @Test
+    @DisplayName("Invalid limits are rejected")
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.of(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.of(1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.of(1, Duration.ofSeconds(1), 0));
+    }
+}
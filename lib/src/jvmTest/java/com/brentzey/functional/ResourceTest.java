@@ -0,0 +1,186 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceTest {
+
+    private static Resource<String> tracked(String name, List<String> log) {
+        return Resource.make(JavaIO.of(() -> {
+            log.add("acquire " + name);
+            return name;
+        }), value -> JavaIO.of(() -> {
+            log.add("release " + value);
+            return null;
+        }));
+    }
+
+    @Test
+    @DisplayName("use() acquires, uses and releases")
+    void testUse() {
+        List<String> log = new ArrayList<>();
+
+        int length = tracked("db", log).use(db -> JavaIO.of(() -> {
+            log.add("use " + db);
+            return db.length();
+        })).unsafeRunSync();
+
+        assertEquals(2, length);
+        assertEquals(List.of("acquire db", "use db", "release db"), log);
+    }
+
+    @Test
+    @DisplayName("Nothing is acquired until use() runs")
+    void testLazy() {
+        List<String> log = new ArrayList<>();
+        JavaIO<Integer> io = tracked("db", log).use(db -> JavaIO.pure(1));
+
+        assertTrue(log.isEmpty());
+        io.unsafeRunSync();
+        assertEquals(2, log.size());
+    }
+
+    @Test
+    @DisplayName("flatMap() releases resources in reverse order of acquisition, even on failure")
+    void testFlatMapReleaseOrder() {
+        List<String> log = new ArrayList<>();
+        Resource<String> both = tracked("conn", log).flatMap(conn -> tracked("stmt", log));
+
+        Exception error = both.use(stmt -> JavaIO.<Integer>of(() -> {
+            throw new Exception("query failed");
+        })).attempt().error();
+
+        assertEquals("query failed", error.getMessage());
+        assertEquals(List.of("acquire conn", "acquire stmt", "release stmt", "release conn"), log);
+    }
+
+    @Test
+    @DisplayName("flatMap() releases the outer resource when the inner acquisition fails")
+    void testFlatMapInnerAcquireFails() {
+        List<String> log = new ArrayList<>();
+        Resource<String> both = tracked("conn", log).flatMap(conn ->
+            Resource.make(JavaIO.<String>of(() -> {
+                throw new Exception("no statement");
+            }), stmt -> JavaIO.pure(null)));
+
+        assertEquals("no statement", both.use(JavaIO::pure).attempt().error().getMessage());
+        assertEquals(List.of("acquire conn", "release conn"), log);
+    }
+
+    @Test
+    @DisplayName("map() transforms the value but releases the original")
+    void testMap() {
+        List<String> log = new ArrayList<>();
+
+        assertEquals(4, tracked("conn", log).map(String::length).use(JavaIO::pure).unsafeRunSync());
+        assertEquals("release conn", log.get(1));
+    }
+
+    @Test
+    @DisplayName("fromAutoCloseable() closes the resource")
+    void testFromAutoCloseable() {
+        AtomicInteger closed = new AtomicInteger();
+        Resource<AutoCloseable> resource = Resource.fromAutoCloseable(JavaIO.pure(closed::incrementAndGet));
+
+        resource.use(closeable -> JavaIO.pure("done")).unsafeRunSync();
+
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    @DisplayName("pooled() reuses objects instead of creating one per use")
+    void testPooledReuse() {
+        AtomicInteger created = new AtomicInteger();
+        Resource<Integer> pool = Resource.pooled(JavaIO.of(created::incrementAndGet), 4);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, pool.use(JavaIO::pure).unsafeRunSync());
+        }
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    @DisplayName("pooled() never hands out more than size objects at once")
+    void testPooledBound() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger inUse = new AtomicInteger();
+            AtomicInteger maxInUse = new AtomicInteger();
+            Set<Integer> checkedOut = ConcurrentHashMap.newKeySet();
+            Resource<Integer> pool = Resource.pooled(JavaIO.of(created::incrementAndGet), 3);
+
+            Function<Integer, JavaIO<Integer>> hold = id -> JavaIO.of(() -> {
+                assertTrue(checkedOut.add(id), "object " + id + " handed out twice");
+                maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                return id;
+            }).flatMap(ignored -> JavaIO.sleep(Duration.ofMillis(2))).map(ignored -> {
+                inUse.decrementAndGet();
+                checkedOut.remove(id);
+                return id;
+            });
+
+            List<Integer> results = JavaIO.parTraverse(
+                Collections.nCopies(50, 0), ignored -> pool.use(hold), 50, executor).unsafeRunSync();
+
+            assertEquals(50, results.size());
+            assertTrue(maxInUse.get() <= 3);
+            assertTrue(created.get() <= 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("pooled() returns objects after a failed use and a failed creation")
+    void testPooledFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+        Resource<Integer> pool = Resource.pooled(JavaIO.of(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new Exception("factory failed");
+            }
+            return attempts.get();
+        }), 1);
+
+        assertEquals("factory failed", pool.use(JavaIO::pure).attempt().error().getMessage());
+        assertEquals("use failed", pool.use(id -> JavaIO.<Integer>of(() -> {
+            throw new Exception("use failed");
+        })).attempt().error().getMessage());
+        assertEquals(2, pool.use(JavaIO::pure).unsafeRunSync());
+    }
+
+    @Test
+    @DisplayName("pooled() rejects a size below 1")
+    void testPooledRejectsSize() {
+        assertThrows(IllegalArgumentException.class, () -> Resource.pooled(JavaIO.pure(1), 0));
+    }
+
+    @Test
+    @DisplayName("IOSemaphore hands permits to waiters and skips cancelled ones")
+    void testSemaphoreSkipsCancelledWaiters() {
+        IOSemaphore semaphore = new IOSemaphore(1);
+        assertTrue(semaphore.acquire().isDone());
+        CompletableFuture<Void> cancelled = semaphore.acquire();
+        CompletableFuture<Void> waiting = semaphore.acquire();
+        assertFalse(waiting.isDone());
+
+        cancelled.cancel(false);
+        semaphore.release();
+
+        assertTrue(waiting.isDone() && !waiting.isCompletedExceptionally());
+        semaphore.release();
+        assertTrue(semaphore.acquire().isDone());
+    }
+}
@@ -0,0 +1,71 @@
+package com.brentzey.functional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("recurs() allows n immediate recurrences")
+    void testRecurs() {
+        Schedule schedule = Schedule.recurs(2);
+
+        assertEquals(0, schedule.delayNanos(0, 0));
+        assertEquals(0, schedule.delayNanos(1, 0));
+        assertEquals(-1, schedule.delayNanos(2, 0));
+    }
+
+    @Test
+    @DisplayName("fixed() waits the same delay every time")
+    void testFixed() {
+        Schedule schedule = Schedule.fixed(Duration.ofMillis(100));
+
+        assertEquals(100 * MS, schedule.delayNanos(0, 0));
+        assertEquals(100 * MS, schedule.delayNanos(50, 0));
+    }
+
+    @Test
+    @DisplayName("exponential() doubles the delay and maxDelay() caps it")
+    void testExponentialWithCap() {
+        Schedule schedule = Schedule.exponential(Duration.ofMillis(10)).maxDelay(Duration.ofMillis(50));
+
+        assertEquals(10 * MS, schedule.delayNanos(0, 0));
+        assertEquals(20 * MS, schedule.delayNanos(1, 0));
+        assertEquals(40 * MS, schedule.delayNanos(2, 0));
+        assertEquals(50 * MS, schedule.delayNanos(3, 0));
+        assertEquals(50 * MS, schedule.delayNanos(1000, 0));
+    }
+
+    @Test
+    @DisplayName("jittered() keeps delays within the ratio")
+    void testJitter() {
+        Schedule schedule = Schedule.fixed(Duration.ofMillis(100)).jittered(0.2);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = schedule.delayNanos(0, 0);
+            assertTrue(delay >= 80 * MS && delay <= 120 * MS, "delay out of range: " + delay);
+        }
+    }
+
+    @Test
+    @DisplayName("maxElapsed() stops once the next delay would pass the limit")
+    void testMaxElapsed() {
+        Schedule schedule = Schedule.fixed(Duration.ofMillis(100)).maxElapsed(Duration.ofSeconds(1));
+
+        assertEquals(100 * MS, schedule.delayNanos(3, 900 * MS));
+        assertEquals(-1, schedule.delayNanos(3, 901 * MS));
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> Schedule.recurs(-1));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.fixed(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.exponential(Duration.ofMillis(1), 0.5));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.recurs(1).jittered(1.5));
+    }
+}
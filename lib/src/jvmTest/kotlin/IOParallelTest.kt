@@ -0,0 +1,87 @@
+package com.brentzey.functional
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.test.runTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class IOParallelTest {
+
+    @Test
+    fun testParTraverseKeepsOrder() = runTest {
+        val io = IO.parTraverse(listOf(30L, 10L, 20L)) { millis ->
+            IO.fromSuspend { delay(millis); millis * 2 }
+        }
+
+        assertEquals(listOf(60L, 20L, 40L), io.await())
+    }
+
+    @Test
+    fun testParTraverseIsLazy() = runTest {
+        val lock = Mutex()
+        var runs = 0
+        val io = IO.parTraverse(listOf(1, 2, 3)) { IO.fromSuspend { lock.withLock { runs++ } } }
+
+        assertEquals(0, runs)
+        assertEquals(3, io.await().size)
+    }
+
+    @Test
+    fun testParTraverseRespectsMaxConcurrency() = runTest {
+        val lock = Mutex()
+        var active = 0
+        var peak = 0
+        val io = IO.parTraverse((1..12).toList(), maxConcurrency = 3) { i ->
+            IO.fromSuspend {
+                lock.withLock { active++; peak = maxOf(peak, active) }
+                delay(20)
+                lock.withLock { active-- }
+                i
+            }
+        }
+
+        assertEquals((1..12).toList(), io.await())
+        assertTrue(peak <= 3, "peak concurrency was $peak")
+    }
+
+    @Test
+    fun testParTraverseFailsWithFirstError() = runTest {
+        val io = IO.parTraverse(listOf(1, 2, 3)) { i ->
+            if (i == 2) IO.of<Int> { throw IllegalStateException("task $i") } else IO.fromSuspend { delay(10_000); i }
+        }
+
+        val error = assertFailsWith<IllegalStateException> { io.await() }
+        assertEquals("task 2", error.message)
+    }
+
+    @Test
+    fun testParTraverseOfNothing() = runTest {
+        assertEquals(emptyList(), IO.parTraverse(emptyList<Int>()) { IO.pure(it) }.await())
+    }
+
+    @Test
+    fun testParSequence() = runTest {
+        val io = IO.parSequence(listOf(IO.pure(1), IO.of { 2 }, IO.fromSuspend { delay(5); 3 }), maxConcurrency = 2)
+
+        assertEquals(listOf(1, 2, 3), io.await())
+    }
+
+    @Test
+    fun testParZip() = runTest {
+        val io = IO.parZip(IO.fromSuspend { delay(20); "a" }, IO.fromSuspend { delay(10); 1 }) { a, b -> "$a$b" }
+
+        assertEquals("a1", io.await())
+        assertFailsWith<IllegalArgumentException> {
+            IO.parZip(IO.of<Int> { throw IllegalArgumentException("left") }, IO.pure(1)) { a, b -> a + b }.await()
+        }
+    }
+
+    @Test
+    fun testRejectsNonPositiveConcurrency() {
+        assertFailsWith<IllegalArgumentException> { IO.parTraverse(listOf(1), maxConcurrency = 0) { IO.pure(it) } }
+    }
+}
@@ -1,7 +1,17 @@
 package com.brentzey.functional
 
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.delay
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
 import kotlin.test.Test
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotSame
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
 
 class JvmLibraryTest {
     @Test
@@ -14,4 +24,54 @@ class JvmLibraryTest {
         val result = FunctionalUtils.apply(10) { it * 2 }
         assertEquals(20, result)
     }
+
+    @Test
+    fun testUnsafeRunSyncBlocksOnSuspendingEffects() {
+        val caller = Thread.currentThread()
+        val io = IO.fromSuspend { delay(10); Thread.currentThread() }
+            .evalOn(Dispatchers.Default)
+            .map { it !== caller }
+
+        assertTrue(io.unsafeRunSync())
+    }
+
+    @Test
+    fun testPersistentCollections() {
+        val vector = persistentVectorOf(1, 2) + 3
+        val map = persistentMapOf("a" to 1) + ("b" to 2) - "a"
+        val built = buildPersistentMap<String, Int> { put("x", 1); put("y", 2) }.mutate { remove("x") }
+
+        assertEquals(listOf(1, 2, 3), vector)
+        assertEquals(listOf(1, 2, 3, 4), vector.mutate { add(4) })
+        assertEquals(mapOf("b" to 2), map)
+        assertEquals(mapOf("y" to 2), built)
+        assertEquals(mapOf("k" to "v"), mapOf("k" to "v").toPersistentMap())
+        assertEquals((1..100).toList(), (1..100).toPersistentVector())
+    }
+
+    @Test
+    fun testChannelReporterDeliversOffTheFailingThread() {
+        val sinkThread = CompletableFuture<Thread>()
+        val workerDone = CountDownLatch(1)
+        val reporter = ChannelErrorReporter(capacity = 16, maxPerSecond = 100) {
+            workerDone.await()
+            sinkThread.complete(Thread.currentThread())
+        }
+        val previous = IO.errorReporter
+        IO.errorReporter = reporter::report
+        try {
+            var result: Int? = -1
+            val worker = thread {
+                result = IO.of<Int> { throw IllegalStateException("boom") }.runToNullable()
+            }
+            worker.join(5_000)
+
+            assertFalse(worker.isAlive)
+            assertNull(result)
+            workerDone.countDown()
+            assertNotSame(worker, sinkThread.get(5, TimeUnit.SECONDS))
+        } finally {
+            IO.errorReporter = previous
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package com.brentzey.functional
+
+/**
+ * An effect can fail on any thread that runs it, such as a worker of the dispatcher given to
+ * [IO.evalOn], so the default only queues the error, with the defaults of the JVM's
+ * `AsyncErrorReporter.create()`: up to 1024 errors wait, and a background coroutine prints
+ * at most 100 a second.
+ */
+internal actual fun platformErrorReporter(): (Exception) -> Unit =
+    ChannelErrorReporter(capacity = 1024, maxPerSecond = 100) { error ->
+        println("IO Error: ${error.message}")
+    }::report
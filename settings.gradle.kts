@@ -15,3 +15,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "functional-utils"
 include("lib")
+include("lib:benchmarks")